@@ -0,0 +1,86 @@
+package com.middleware.leave_approval_system.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Compares a JMH JSON result file with the stored baseline and fails when any benchmark got slower than
+// the threshold (percent). A missing baseline is an error; with record=true the results replace the baseline instead.
+// Args: <results.json> <baseline.json> [thresholdPercent] [record]
+public class BaselineCheck {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static void main(String[] args) throws IOException {
+        Path results = Path.of(args[0]);
+        Path baseline = Path.of(args[1]);
+        double thresholdPercent = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        boolean record = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        if (!Files.exists(results)) {
+            throw new IllegalStateException("No benchmark results at " + results + "; run exec:exec@run-benchmarks first");
+        }
+        if (record) {
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(results, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Recorded " + results + " as " + baseline);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            throw new IllegalStateException("No baseline at " + baseline + "; record one with -Djmh.record-baseline=true and commit it");
+        }
+
+        Map<String, Score> current = scores(results);
+        Map<String, Score> previous = scores(baseline);
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s%n", "benchmark", "baseline", "current", "change");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score before = previous.get(entry.getKey());
+            Score after = entry.getValue();
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s%n", entry.getKey(), "-", after.value(), "new");
+                continue;
+            }
+            // Positive change means slower, whichever direction the benchmark mode scores in
+            double change = (after.value() - before.value()) / before.value() * 100 * (after.higherIsBetter() ? -1 : 1);
+            boolean regressed = change > thresholdPercent;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%%s%n", entry.getKey(), before.value(), after.value(), change,
+                    regressed ? "  REGRESSION" : "");
+        }
+        if (regressions > 0) {
+            throw new IllegalStateException(regressions + " benchmark(s) regressed by more than " + thresholdPercent + "%");
+        }
+    }
+
+    private static Map<String, Score> scores(Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : objectMapper.readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            // Sorted so the key does not depend on parameter order in the file
+            Map<String, String> params = new TreeMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = run.path("params").fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> param = it.next();
+                params.put(param.getKey(), param.getValue().asText());
+            }
+            params.forEach((name, value) -> key.append(' ').append(name).append('=').append(value));
+            key.append(" [").append(run.path("primaryMetric").path("scoreUnit").asText()).append(']');
+            scores.put(key.toString(), new Score(run.path("primaryMetric").path("score").asDouble(),
+                    "thrpt".equals(run.path("mode").asText())));
+        }
+        return scores;
+    }
+
+    private record Score(double value, boolean higherIsBetter) {
+    }
+}
@@ -0,0 +1,72 @@
+package com.middleware.leave_approval_system.benchmark;
+
+import com.middleware.leave_approval_system.Entity.Holiday;
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import com.middleware.leave_approval_system.Repository.HolidayRepo;
+import com.middleware.leave_approval_system.Service.HolidayCalendarService;
+import com.middleware.leave_approval_system.Util.BusinessCalendar;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+// Services wired by hand for the benchmarks: no Spring context, no database
+final class BenchmarkFixtures {
+
+    static final String REGION = "IN";
+
+    private BenchmarkFixtures() {
+    }
+
+    // Holiday calendar with the default national holidays plus two regional holidays per year
+    static HolidayCalendarService holidayCalendarService() {
+        HolidayRepo holidayRepo = Mockito.mock(HolidayRepo.class);
+        Mockito.when(holidayRepo.findByRegionAndHolidayDateBetween(anyString(), any(), any())).thenAnswer(invocation -> {
+            int year = invocation.<LocalDate>getArgument(1).getYear();
+            return List.of(new Holiday(null, invocation.getArgument(0), LocalDate.of(year, 3, 14), "Holi"),
+                    new Holiday(null, invocation.getArgument(0), LocalDate.of(year, 11, 1), "Diwali"));
+        });
+
+        HolidayCalendarService service = new HolidayCalendarService();
+        ReflectionTestUtils.setField(service, "holidayRepo", holidayRepo);
+        ReflectionTestUtils.setField(service, "eventPublisher", (ApplicationEventPublisher) event -> { });
+        ReflectionTestUtils.setField(service, "defaultRegion", REGION);
+        ReflectionTestUtils.setField(service, "nationalHolidays", "01-26,08-15,10-02,12-25");
+        service.init();
+        return service;
+    }
+
+    static BusinessCalendar businessCalendar(HolidayCalendarService holidayCalendarService) {
+        BusinessCalendar businessCalendar = new BusinessCalendar();
+        ReflectionTestUtils.setField(businessCalendar, "holidayCalendarService", holidayCalendarService);
+        return businessCalendar;
+    }
+
+    static LeaveRequest leaveRequest(long id) {
+        LeaveRequest leaveRequest = new LeaveRequest();
+        leaveRequest.setId(id);
+        leaveRequest.setEmployeeId("E" + (id % 5000));
+        leaveRequest.setFirstName("First" + id);
+        leaveRequest.setLastName("Last" + id);
+        leaveRequest.setEmail("employee" + id + "@example.com");
+        leaveRequest.setPosition("Engineer");
+        leaveRequest.setPhone("9876543210");
+        leaveRequest.setManagerId("M" + (id % 50));
+        leaveRequest.setManagerName("Manager " + (id % 50));
+        leaveRequest.setManagerEmail("manager" + (id % 50) + "@example.com");
+        leaveRequest.setLeaveType(LeaveRequest.LeaveType.values()[(int) (id % LeaveRequest.LeaveType.values().length)]);
+        leaveRequest.setLeaveStatus(LeaveRequest.LeaveStatus.PENDING);
+        leaveRequest.setLeaveStartDate(LocalDate.of(2026, 3, 2).plusDays(id % 300));
+        leaveRequest.setLeaveEndDate(leaveRequest.getLeaveStartDate().plusDays(id % 7));
+        leaveRequest.setDuration((double) (id % 7 + 1));
+        leaveRequest.setDurationType("Days");
+        leaveRequest.setLeaveReason("Family function");
+        leaveRequest.setComments(id % 3 == 0 ? null : "Will be reachable by phone");
+        return leaveRequest;
+    }
+}
@@ -0,0 +1,55 @@
+package com.middleware.leave_approval_system.benchmark;
+
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import com.middleware.leave_approval_system.Service.DecisionLinkService;
+import com.middleware.leave_approval_system.Service.EmailService;
+import com.middleware.leave_approval_system.Service.MailTemplateService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Rendering of the manager email sent by EmailService.sendLeaveRequestEmail (subject, text and HTML parts
+// from the precompiled templates, plus the two signed decision links)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailBodyBenchmark {
+
+    private EmailService emailService;
+    private LeaveRequest leaveRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        MailTemplateService mailTemplateService = new MailTemplateService();
+        ReflectionTestUtils.setField(mailTemplateService, "baseUrl", "http://localhost:8085");
+        mailTemplateService.init();
+        DecisionLinkService decisionLinkService = new DecisionLinkService();
+        ReflectionTestUtils.setField(decisionLinkService, "mailTemplateService", mailTemplateService);
+        ReflectionTestUtils.setField(decisionLinkService, "secret", "benchmark");
+        ReflectionTestUtils.setField(decisionLinkService, "ttlHours", 168L);
+        decisionLinkService.init();
+        emailService = new EmailService();
+        ReflectionTestUtils.setField(emailService, "mailTemplateService", mailTemplateService);
+        ReflectionTestUtils.setField(emailService, "decisionLinkService", decisionLinkService);
+        leaveRequest = BenchmarkFixtures.leaveRequest(1234);
+    }
+
+    @Benchmark
+    public MailTemplateService.RenderedMail leaveRequestEmail() {
+        return emailService.renderLeaveRequestEmail(leaveRequest);
+    }
+}
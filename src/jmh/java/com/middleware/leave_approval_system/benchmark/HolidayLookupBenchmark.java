@@ -0,0 +1,61 @@
+package com.middleware.leave_approval_system.benchmark;
+
+import com.middleware.leave_approval_system.Service.HolidayCalendarService;
+import com.middleware.leave_approval_system.Util.BusinessCalendar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Single-date lookups against the cached holiday sets and working-day tables, over dates spread across three years
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HolidayLookupBenchmark {
+
+    private static final int DATES = 4096;
+
+    private HolidayCalendarService holidayCalendarService;
+    private BusinessCalendar businessCalendar;
+    private final LocalDate[] dates = new LocalDate[DATES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        holidayCalendarService = BenchmarkFixtures.holidayCalendarService();
+        businessCalendar = BenchmarkFixtures.businessCalendar(holidayCalendarService);
+        Random random = new Random(42);
+        LocalDate first = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < DATES; i++) {
+            dates[i] = first.plusDays(random.nextInt(3 * 365));
+        }
+    }
+
+    private LocalDate nextDate() {
+        next = (next + 1) & (DATES - 1);
+        return dates[next];
+    }
+
+    @Benchmark
+    public boolean isHoliday() {
+        return holidayCalendarService.isHoliday(BenchmarkFixtures.REGION, nextDate());
+    }
+
+    @Benchmark
+    public boolean isBusinessDay() {
+        return businessCalendar.isBusinessDay(BenchmarkFixtures.REGION, nextDate());
+    }
+}
@@ -0,0 +1,81 @@
+package com.middleware.leave_approval_system.benchmark;
+
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import com.middleware.leave_approval_system.Event.HolidaysReloadedEvent;
+import com.middleware.leave_approval_system.Util.BusinessCalendar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// LeaveRequest.calculateBusinessDays / calculateDuration from a few days up to spans crossing years.
+// The *AfterReload variant drops the cached year tables first, i.e. the cost right after a holiday change.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeaveDurationBenchmark {
+
+    @Param({"SHORT", "MONTH", "YEAR_CROSSING", "MULTI_YEAR"})
+    public String span;
+
+    private BusinessCalendar businessCalendar;
+    private LeaveRequest leaveRequest;
+    private LocalDate startDate;
+    private LocalDate endDate;
+
+    @Setup
+    public void setUp() {
+        businessCalendar = BenchmarkFixtures.businessCalendar(BenchmarkFixtures.holidayCalendarService());
+        switch (span) {
+            case "SHORT" -> {
+                startDate = LocalDate.of(2026, 3, 2);
+                endDate = LocalDate.of(2026, 3, 4);
+            }
+            case "MONTH" -> {
+                startDate = LocalDate.of(2026, 3, 1);
+                endDate = LocalDate.of(2026, 3, 31);
+            }
+            case "YEAR_CROSSING" -> {
+                startDate = LocalDate.of(2026, 12, 21);
+                endDate = LocalDate.of(2027, 1, 8);
+            }
+            default -> {
+                startDate = LocalDate.of(2026, 6, 1);
+                endDate = LocalDate.of(2028, 5, 31);
+            }
+        }
+        leaveRequest = BenchmarkFixtures.leaveRequest(1);
+        leaveRequest.setLeaveStartDate(startDate);
+        leaveRequest.setLeaveEndDate(endDate);
+    }
+
+    @Benchmark
+    public double calculateBusinessDays() {
+        return leaveRequest.calculateBusinessDays(startDate, endDate, businessCalendar);
+    }
+
+    @Benchmark
+    public Double calculateDuration() {
+        leaveRequest.calculateDuration(businessCalendar);
+        return leaveRequest.getDuration();
+    }
+
+    @Benchmark
+    public double calculateBusinessDaysAfterReload() {
+        businessCalendar.onHolidaysReloaded(new HolidaysReloadedEvent(null));
+        return leaveRequest.calculateBusinessDays(startDate, endDate, businessCalendar);
+    }
+}
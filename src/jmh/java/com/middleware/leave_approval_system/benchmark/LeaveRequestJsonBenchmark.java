@@ -0,0 +1,62 @@
+package com.middleware.leave_approval_system.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.middleware.leave_approval_system.Dto.LeaveRequestSummary;
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JSON serialization of leave lists: full LeaveRequest entities versus the LeaveRequestSummary rows the list endpoints return
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LeaveRequestJsonBenchmark {
+
+    @Param({"50", "200", "1000"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+    private List<LeaveRequest> leaveRequests;
+    private List<LeaveRequestSummary> summaries;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper().findAndRegisterModules();
+        leaveRequests = new ArrayList<>(size);
+        summaries = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            LeaveRequest leaveRequest = BenchmarkFixtures.leaveRequest(i);
+            leaveRequests.add(leaveRequest);
+            summaries.add(new LeaveRequestSummary(leaveRequest.getId(), leaveRequest.getEmployeeId(), leaveRequest.getFirstName(),
+                    leaveRequest.getLastName(), leaveRequest.getManagerId(), leaveRequest.getManagerName(), leaveRequest.getLeaveType(),
+                    leaveRequest.getLeaveStatus(), leaveRequest.getLeaveStartDate(), leaveRequest.getLeaveEndDate(), leaveRequest.getDuration()));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeLeaveRequests() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(leaveRequests);
+    }
+
+    @Benchmark
+    public byte[] serializeSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+}
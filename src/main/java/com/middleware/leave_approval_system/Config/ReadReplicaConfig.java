@@ -0,0 +1,114 @@
+package com.middleware.leave_approval_system.Config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Read/write splitting, on with leave.datasource.routing.enabled (see the read-replica profile).
+// The application DataSource becomes a LazyConnectionDataSourceProxy over ReplicaRoutingDataSource:
+// @Transactional(readOnly = true) work reads from the leave.datasource.replicas pools, everything else and all
+// schema migrations use the spring.datasource primary. Every pool takes its settings from spring.datasource.hikari.
+@Configuration
+@ConditionalOnProperty(name = "leave.datasource.routing.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Value("${leave.datasource.replica-check-timeout-seconds:2}")
+    private int replicaCheckTimeoutSeconds;
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties, Environment environment,
+                                                             MeterRegistry meterRegistry) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = pool("primary", properties.initializeDataSourceBuilder(), binder, meterRegistry);
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaProperties> replicaProperties = binder.bind("leave.datasource.replicas", Bindable.listOf(ReplicaProperties.class))
+                .orElse(List.of());
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            ReplicaProperties replica = replicaProperties.get(i);
+            String name = "replica-" + (i + 1);
+            replicas.put(name, pool(name, DataSourceBuilder.create()
+                    .url(replica.getUrl())
+                    .username(replica.getUsername())
+                    .password(replica.getPassword()), binder, meterRegistry));
+        }
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas);
+        Gauge.builder("leave.datasource.replicas.healthy", routing, ReplicaRoutingDataSource::getHealthyReplicaCount)
+                .register(meterRegistry);
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(@Value("${leave.datasource.read-your-writes-ms:5000}") long windowMs) {
+        return new ReadYourWritesFilter(windowMs);
+    }
+
+    // Boot applies a single TaskDecorator bean to applicationTaskExecutor, so async responses keep the
+    // read-your-writes routing of the request that started them
+    @Bean
+    public TaskDecorator replicaRoutingTaskDecorator() {
+        return ReplicaRoutingDataSource::propagateForcePrimary;
+    }
+
+    @Bean
+    public ReplicaHealthCheck replicaHealthCheck(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new ReplicaHealthCheck(replicaRoutingDataSource, replicaCheckTimeoutSeconds);
+    }
+
+    private static HikariDataSource pool(String name, DataSourceBuilder<?> builder, Binder binder, MeterRegistry meterRegistry) {
+        HikariDataSource pool = builder.type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        // The pools are not beans, so Boot's pool metrics binder does not see them
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+
+    @Data
+    public static class ReplicaProperties {
+        private String url;
+        private String username;
+        private String password;
+    }
+
+    // Puts replicas that failed back into rotation once they validate again
+    public static class ReplicaHealthCheck {
+        private final ReplicaRoutingDataSource replicaRoutingDataSource;
+        private final int timeoutSeconds;
+
+        public ReplicaHealthCheck(ReplicaRoutingDataSource replicaRoutingDataSource, int timeoutSeconds) {
+            this.replicaRoutingDataSource = replicaRoutingDataSource;
+            this.timeoutSeconds = timeoutSeconds;
+        }
+
+        @Scheduled(fixedDelayString = "${leave.datasource.replica-check-ms:5000}")
+        public void check() {
+            replicaRoutingDataSource.checkReplicas(timeoutSeconds);
+        }
+    }
+}
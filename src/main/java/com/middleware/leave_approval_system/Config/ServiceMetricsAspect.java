@@ -0,0 +1,63 @@
+package com.middleware.leave_approval_system.Config;
+
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+// Times every public call into the leave services as leave.service{component, operation, outcome, leave_type, status}.
+// Submit shows up as LeaveRequestServiceImpl.submitLeaveRequest with its balance (LeaveBalanceService.reserve) and
+// mail (EmailService.sendLeaveRequestEmail) steps timed separately; the save is in spring.data.repository.invocations.
+// Tags stay low-cardinality: enum names and method names only, never ids.
+// Runs outside @Transactional so the commit (and the batched flush) is part of the measured time.
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+    private static final String NONE = "none";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.middleware.leave_approval_system.Service.LeaveRequestServiceImpl.*(..))" +
+            " || execution(public * com.middleware.leave_approval_system.Service.LeaveBalanceService.*(..))" +
+            " || execution(public * com.middleware.leave_approval_system.Service.EmailService.*(..))")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Object result = null;
+        String outcome = "success";
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            LeaveRequest leaveRequest = result instanceof LeaveRequest returned ? returned : leaveRequestArgument(joinPoint.getArgs());
+            sample.stop(Timer.builder("leave.service")
+                    .description("Leave service operations")
+                    .tag("component", joinPoint.getTarget().getClass().getSimpleName())
+                    .tag("operation", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .tag("leave_type", leaveRequest != null && leaveRequest.getLeaveType() != null ? leaveRequest.getLeaveType().name() : NONE)
+                    .tag("status", leaveRequest != null && leaveRequest.getLeaveStatus() != null ? leaveRequest.getLeaveStatus().name() : NONE)
+                    .register(meterRegistry));
+        }
+    }
+
+    private LeaveRequest leaveRequestArgument(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof LeaveRequest leaveRequest) {
+                return leaveRequest;
+            }
+        }
+        return null;
+    }
+}
@@ -1,18 +1,45 @@
 package com.middleware.leave_approval_system.Config;
 
+import com.middleware.leave_approval_system.Controller.LeaveRequestController;
+import com.middleware.leave_approval_system.Service.IdempotencyService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration  // Marks this class as a configuration class for Spring, used to configure the application's web behavior
 public class WebConfig implements WebMvcConfigurer { // // Implements WebMvcConfigurer to customize Spring MVC configuration
 
+    // Boot's shared executor: a thread pool by default, virtual threads under the virtual-threads profile
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private AsyncTaskExecutor applicationTaskExecutor;
+
+    // Upper bound for an async response such as the streaming export; spring.mvc.async.request-timeout is not
+    // applied under @EnableWebMvc, and Tomcat's own default of 30 s would cut long exports off
+    @Value("${leave.async.request-timeout-ms:3600000}")
+    private long asyncRequestTimeoutMs;
+
     // Override the addCorsMappings method to configure Cross-Origin Resource Sharing (CORS) settings
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**") // Allow all paths
                 .allowedOrigins("http://localhost:3000") // Allow requests from your frontend
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS") // Allowed methods
+                .exposedHeaders(LeaveRequestController.NEXT_CURSOR_HEADER, IdempotencyService.REPLAYED_HEADER) // Let the frontend read the pagination cursor and replay marker
                 .allowCredentials(true); // Allow credentials (if needed)
     }
+
+    // @EnableWebMvc turns off Boot's MVC auto-configuration, so async responses (the streaming export)
+    // would otherwise get a new platform thread each; run them on the application executor instead.
+    // SSE streams set their own timeout (leave.events.timeout-ms).
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(applicationTaskExecutor);
+        configurer.setDefaultTimeout(asyncRequestTimeoutMs);
+    }
 }
@@ -0,0 +1,37 @@
+package com.middleware.leave_approval_system.Controller;
+
+import com.middleware.leave_approval_system.Dto.LeaveUsageRollup;
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import com.middleware.leave_approval_system.Service.LeaveUsageRollupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@RestController
+@RequestMapping("/analytics")
+public class AnalyticsController {
+
+    @Autowired
+    private LeaveUsageRollupService leaveUsageRollupService;
+
+    // Leave usage buckets (requests and business days per manager, type, status and month); from/to are yyyy-MM
+    @GetMapping("/usage")
+    public ResponseEntity<List<LeaveUsageRollup>> getUsage(
+            @RequestParam(value = "managerId", required = false) String managerId,
+            @RequestParam(value = "leaveType", required = false) LeaveRequest.LeaveType leaveType,
+            @RequestParam(value = "leaveStatus", required = false) LeaveRequest.LeaveStatus leaveStatus,
+            @RequestParam(value = "from", required = false) YearMonth from,
+            @RequestParam(value = "to", required = false) YearMonth to) {
+        return ResponseEntity.ok(leaveUsageRollupService.getUsage(managerId, leaveType, leaveStatus, from, to));
+    }
+
+    // Recomputing all usage rollups from the leave requests
+    @PostMapping("/usage/rebuild")
+    public ResponseEntity<String> rebuildUsage() {
+        int buckets = leaveUsageRollupService.rebuild();
+        return ResponseEntity.ok("Leave usage rollups rebuilt: " + buckets + " buckets");
+    }
+}
@@ -0,0 +1,106 @@
+package com.middleware.leave_approval_system.Controller;
+
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import com.middleware.leave_approval_system.Exception.LeaveConflictException;
+import com.middleware.leave_approval_system.Exception.ResourceNotFoundException;
+import com.middleware.leave_approval_system.Service.DecisionLinkService;
+import com.middleware.leave_approval_system.Service.LeaveRequestServiceImpl;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.springframework.web.util.HtmlUtils.htmlEscape;
+
+// Targets of the approve/reject links in manager emails. The GET shows the request and a confirm button;
+// the button POSTs back with the same signed parameters, and only that applies the decision.
+@RestController
+@RequestMapping("/leave/email-decision")
+public class EmailDecisionController {
+
+    @Autowired
+    private DecisionLinkService decisionLinkService;
+
+    @Autowired
+    private LeaveRequestServiceImpl leaveRequestServiceImpl;
+
+    @GetMapping(value = "/{id}", produces = MediaType.TEXT_HTML_VALUE)
+    public ResponseEntity<String> confirm(@PathVariable Long id,
+                                          @RequestParam("action") DecisionLinkService.Action action,
+                                          @RequestParam("expires") long expires,
+                                          @RequestParam("token") String token) {
+        if (!decisionLinkService.verify(id, action, expires, token)) {
+            return page(HttpStatus.FORBIDDEN, "This link is invalid or has expired.");
+        }
+        LeaveRequest leaveRequest;
+        try {
+            leaveRequest = leaveRequestServiceImpl.getLeaveRequestById(id);
+        } catch (ResourceNotFoundException e) {
+            return page(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+        if (leaveRequest.getLeaveStatus() != LeaveRequest.LeaveStatus.PENDING) {
+            return page(HttpStatus.CONFLICT, "Leave request is already " + leaveRequest.getLeaveStatus());
+        }
+
+        boolean approve = action == DecisionLinkService.Action.APPROVE;
+        StringBuilder body = new StringBuilder()
+                .append("<p>").append(approve ? "Approve" : "Reject").append(" the ")
+                .append(htmlEscape(String.valueOf(leaveRequest.getLeaveType()))).append(" leave of ")
+                .append(htmlEscape(leaveRequest.getLastName() + " " + leaveRequest.getFirstName()))
+                .append(" from ").append(leaveRequest.getLeaveStartDate()).append(" to ").append(leaveRequest.getLeaveEndDate())
+                .append(" (").append(leaveRequest.getDuration()).append(" days)?</p>")
+                .append("<form method=\"post\">")
+                .append("<input type=\"hidden\" name=\"action\" value=\"").append(action.name()).append("\">")
+                .append("<input type=\"hidden\" name=\"expires\" value=\"").append(expires).append("\">")
+                .append("<input type=\"hidden\" name=\"token\" value=\"").append(htmlEscape(token)).append("\">");
+        if (!approve) {
+            body.append("<p><label>Reason <input type=\"text\" name=\"reason\" required></label></p>");
+        }
+        body.append("<button type=\"submit\">").append(approve ? "Approve Leave" : "Reject Leave").append("</button></form>");
+        return ResponseEntity.ok().contentType(MediaType.TEXT_HTML).body(html(body.toString()));
+    }
+
+    @PostMapping(value = "/{id}", produces = MediaType.TEXT_HTML_VALUE)
+    public ResponseEntity<String> decide(@PathVariable Long id,
+                                         @RequestParam("action") DecisionLinkService.Action action,
+                                         @RequestParam("expires") long expires,
+                                         @RequestParam("token") String token,
+                                         @RequestParam(value = "reason", required = false) String reason) {
+        if (!decisionLinkService.verify(id, action, expires, token)) {
+            return page(HttpStatus.FORBIDDEN, "This link is invalid or has expired.");
+        }
+        try {
+            if (action == DecisionLinkService.Action.APPROVE) {
+                leaveRequestServiceImpl.approveLeaveRequest(id);
+                return page(HttpStatus.OK, "Leave Request Approved");
+            }
+            if (reason == null || reason.isBlank()) {
+                return page(HttpStatus.BAD_REQUEST, "A reason is required to reject a leave request.");
+            }
+            leaveRequestServiceImpl.rejectLeaveRequest(id, reason);
+            return page(HttpStatus.OK, "Leave Request Rejected with Reason: " + reason);
+        } catch (ResourceNotFoundException e) {
+            return page(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (LeaveConflictException e) {
+            return page(HttpStatus.CONFLICT, e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return page(HttpStatus.CONFLICT, "The leave request was changed by another request; open the link again.");
+        }
+    }
+
+    private static ResponseEntity<String> page(HttpStatus status, String message) {
+        return ResponseEntity.status(status).contentType(MediaType.TEXT_HTML).body(html("<p>" + htmlEscape(message) + "</p>"));
+    }
+
+    private static String html(String body) {
+        return "<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Leave Approval System</title></head><body>"
+                + body + "</body></html>";
+    }
+}
@@ -0,0 +1,41 @@
+package com.middleware.leave_approval_system.Controller;
+
+import com.middleware.leave_approval_system.Entity.Holiday;
+import com.middleware.leave_approval_system.Service.HolidayCalendarService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/holidays")
+public class HolidayController {
+
+    @Autowired
+    private HolidayCalendarService holidayCalendarService;
+
+    // Listing the holidays of a region for one year
+    @GetMapping("/{region}/{year}")
+    public ResponseEntity<List<LocalDate>> getHolidays(@PathVariable String region, @PathVariable int year) {
+        return ResponseEntity.ok(holidayCalendarService.getHolidays(region, year).toDates());
+    }
+
+    // Adding a region-specific holiday
+    @PostMapping
+    public ResponseEntity<Holiday> addHoliday(@RequestBody Holiday holiday) {
+        return ResponseEntity.ok(holidayCalendarService.addHoliday(holiday));
+    }
+
+    // Reloading holidays from the database, for one region or for all of them
+    @PostMapping("/reload")
+    public ResponseEntity<String> reloadHolidays(@RequestParam(value = "region", required = false) String region) {
+        if (region == null) {
+            holidayCalendarService.reload();
+        } else {
+            holidayCalendarService.reload(region);
+        }
+        return ResponseEntity.ok("Holidays reloaded");
+    }
+}
@@ -0,0 +1,29 @@
+package com.middleware.leave_approval_system.Controller;
+
+import com.middleware.leave_approval_system.Service.LeaveEventStream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Server-Sent Event streams of leave changes (submitted, approved, rejected, updated, deleted) that replace
+// polling the manager and employee lists. A "resync" event means events were dropped and the lists should be reloaded.
+@RestController
+@RequestMapping("/leave/events")
+public class LeaveEventController {
+
+    @Autowired
+    private LeaveEventStream leaveEventStream;
+
+    // Changes to any leave request of the manager's reports
+    @GetMapping(value = "/manager/{managerId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeManager(@PathVariable String managerId) {
+        return leaveEventStream.subscribeManager(managerId);
+    }
+
+    // Changes to the employee's own leave requests
+    @GetMapping(value = "/employee/{employeeId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeEmployee(@PathVariable String employeeId) {
+        return leaveEventStream.subscribeEmployee(employeeId);
+    }
+}
@@ -0,0 +1,35 @@
+package com.middleware.leave_approval_system.Controller;
+
+import com.middleware.leave_approval_system.Dto.LeaveImportResult;
+import com.middleware.leave_approval_system.Service.LeaveImportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+// Bulk import of historical leave records; the CSV has the columns of /leave/export?format=csv
+@RestController
+@RequestMapping("/leave/import")
+public class LeaveImportController {
+
+    @Autowired
+    private LeaveImportService leaveImportService;
+
+    // Importing a CSV sent as the request body, streamed without the multipart size limit
+    @PostMapping(consumes = "text/csv")
+    public ResponseEntity<LeaveImportResult> importCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(leaveImportService.importCsv(body));
+    }
+
+    // Importing a CSV uploaded as the "file" part of a multipart form
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<LeaveImportResult> importCsvFile(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream inputStream = file.getInputStream()) {
+            return ResponseEntity.ok(leaveImportService.importCsv(inputStream));
+        }
+    }
+}
@@ -1,23 +1,45 @@
 package com.middleware.leave_approval_system.Controller;
 
+import com.middleware.leave_approval_system.Dto.LeaveDecision;
+import com.middleware.leave_approval_system.Dto.LeaveDecisionResult;
+import com.middleware.leave_approval_system.Dto.LeavePage;
+import com.middleware.leave_approval_system.Dto.LeaveRequestSummary;
+import com.middleware.leave_approval_system.Dto.LeaveRequestFilter;
+import com.middleware.leave_approval_system.Dto.TeamAvailabilityDay;
 import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import com.middleware.leave_approval_system.Entity.StoredDocument;
 import com.middleware.leave_approval_system.Exception.ResourceNotFoundException;
+import com.middleware.leave_approval_system.Service.DocumentStorageService;
+import com.middleware.leave_approval_system.Service.IdempotencyService;
+import com.middleware.leave_approval_system.Service.LeaveExportService;
 import com.middleware.leave_approval_system.Service.LeaveRequestServiceImpl;
-import com.middleware.leave_approval_system.Util.HolidaysUtil;
+import com.middleware.leave_approval_system.Service.TeamAvailabilityIndex;
+import com.middleware.leave_approval_system.Util.BusinessCalendar;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 
@@ -25,9 +47,26 @@ import java.util.Map;
 @RequestMapping("/leave")
 public class LeaveRequestController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Autowired
     private LeaveRequestServiceImpl leaveRequestServiceImpl;
 
+    @Autowired
+    private BusinessCalendar businessCalendar;
+
+    @Autowired
+    private LeaveExportService leaveExportService;
+
+    @Autowired
+    private DocumentStorageService documentStorageService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private TeamAvailabilityIndex teamAvailabilityIndex;
+
     @Value("${file.upload-dir}")
     private String uploadDir;
 
@@ -50,34 +89,47 @@ public class LeaveRequestController {
             @RequestParam(value = "leaveReason", required = false) String leaveReason,
             @RequestParam(value = "leaveStatus", required = false) LeaveRequest.LeaveStatus leaveStatus,
             @RequestParam(value = "leaveType", required = false) LeaveRequest.LeaveType leaveType,
-            @RequestParam(value = "medicalDocument", required = false) MultipartFile medicalDocument) throws IOException {
-        try {
-            LeaveRequest leaveRequest=new LeaveRequest();
-            leaveRequest.setEmployeeId(employeeId);
-            leaveRequest.setFirstName(firstName);
-            leaveRequest.setLastName(lastName);
-            leaveRequest.setEmail(email);
-            leaveRequest.setPosition(position);
-            leaveRequest.setPhone(phone);
-            leaveRequest.setManagerId(managerId);
-            leaveRequest.setManagerName(managerName);
-            leaveRequest.setManagerEmail(managerEmail);
-            leaveRequest.setComments(comments);
-            leaveRequest.setLeaveType(leaveType);
-            leaveRequest.setLeaveStartDate(leaveStartDate);
-            leaveRequest.setLeaveEndDate(leaveEndDate);
-            leaveRequest.setLeaveReason(leaveReason);
-            leaveRequest.setLeaveStatus(leaveStatus);
-            leaveRequest.setLeaveType(leaveType);
+            @RequestParam(value = "medicalDocument", required = false) MultipartFile medicalDocument,
+            @RequestHeader(value = IdempotencyService.IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) throws IOException {
+        LeaveRequest leaveRequest=new LeaveRequest();
+        leaveRequest.setEmployeeId(employeeId);
+        leaveRequest.setFirstName(firstName);
+        leaveRequest.setLastName(lastName);
+        leaveRequest.setEmail(email);
+        leaveRequest.setPosition(position);
+        leaveRequest.setPhone(phone);
+        leaveRequest.setManagerId(managerId);
+        leaveRequest.setManagerName(managerName);
+        leaveRequest.setManagerEmail(managerEmail);
+        leaveRequest.setComments(comments);
+        leaveRequest.setLeaveType(leaveType);
+        leaveRequest.setLeaveStartDate(leaveStartDate);
+        leaveRequest.setLeaveEndDate(leaveEndDate);
+        leaveRequest.setLeaveReason(leaveReason);
+        leaveRequest.setLeaveStatus(leaveStatus);
+        leaveRequest.setLeaveType(leaveType);
 //            leaveRequest.setDuration(duration);
 
-            if (leaveType == LeaveRequest.LeaveType.SICK) {
-                double requestedDays = leaveRequest.calculateBusinessDays(
-                        leaveStartDate, leaveEndDate, HolidaysUtil.getNationalHolidays(leaveStartDate.getYear())
-                );
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return submit(leaveRequest, medicalDocument);
+        }
+        // Client retries of the same submission (same key from the same employee) get the first response back;
+        // the fingerprint covers every submitted field and the document's bytes, so any change to the payload is a 422
+        String fingerprint = fingerprint(medicalDocument, employeeId, firstName, lastName, email, position, phone, managerId, managerName,
+                managerEmail, comments, durationType, duration, leaveStartDate, leaveEndDate, leaveReason, leaveStatus, leaveType);
+        return idempotencyService.execute(employeeId, idempotencyKey, fingerprint, () -> submit(leaveRequest, medicalDocument));
+    }
+
+    private ResponseEntity<?> submit(LeaveRequest leaveRequest, MultipartFile medicalDocument) {
+        try {
+            if (leaveRequest.getLeaveType() == LeaveRequest.LeaveType.SICK) {
+                double requestedDays = leaveRequest.calculateBusinessDays(leaveRequest.getLeaveStartDate(), leaveRequest.getLeaveEndDate(), businessCalendar);
                 if (requestedDays > 2 && medicalDocument != null) {
-                    String savedFilePath = saveFile(medicalDocument, "medicalDocument");
-                    leaveRequest.setMedicalDocument(savedFilePath);
+                    StoredDocument savedDocument = saveFile(medicalDocument);
+                    if (savedDocument != null) {
+                        leaveRequest.setMedicalDocument(medicalDocument.getOriginalFilename());
+                        leaveRequest.setMedicalDocumentId(savedDocument.getId());
+                    }
                 }
             }
             LeaveRequest savedRequest = leaveRequestServiceImpl.submitLeaveRequest(leaveRequest);
@@ -89,18 +141,44 @@ public class LeaveRequestController {
         }
     }
 
-    private String saveFile(MultipartFile file, String fileType) throws IOException {
-        if (file != null && !file.isEmpty()) {
-            Path filePath = Paths.get(uploadDir, fileType + "-" + file.getOriginalFilename());
-            Files.createDirectories(filePath.getParent()); // Ensure directories exist
-            Files.write(filePath, file.getBytes());
-            return filePath.toString();
+    // SHA-256 over the length-prefixed field values (so no separator can make two payloads collide)
+    // followed by the document's name, type and content
+    private static String fingerprint(MultipartFile document, Object... fields) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
-        return null;
+        for (Object field : fields) {
+            update(digest, field != null ? field.toString() : null);
+        }
+        if (document != null && !document.isEmpty()) {
+            update(digest, document.getOriginalFilename());
+            update(digest, document.getContentType());
+            try (InputStream in = new DigestInputStream(document.getInputStream(), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            digest.update((byte) 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) 1);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        digest.update(bytes);
     }
-    private String saveOptionalFile(MultipartFile file, String fileType) throws IOException {
+
+    // Streams the upload into content-addressed storage; identical files are stored once. If the submit then fails,
+    // the document is left unreferenced and DocumentStorageService.sweepUnreferenced removes it later.
+    private StoredDocument saveFile(MultipartFile file) throws IOException {
         if (file != null && !file.isEmpty()) {
-            return saveFile(file, fileType);
+            return documentStorageService.store(file);
         }
         return null;
     }
@@ -119,6 +197,12 @@ public class LeaveRequestController {
         return ResponseEntity.ok("Leave Request Rejected with Reason: " + leaveReason);
     }
 
+    // Approving and rejecting many leave requests in one call; returns one result per decision
+    @PutMapping("/decisions")
+    public ResponseEntity<List<LeaveDecisionResult>> decideLeaveRequests(@RequestBody List<LeaveDecision> decisions) {
+        return ResponseEntity.ok(leaveRequestServiceImpl.decideLeaveRequests(decisions));
+    }
+
     @PutMapping("/update/{id}")
     public ResponseEntity<LeaveRequest> updateLeaveRequest(@PathVariable Long id, @RequestBody LeaveRequest leaveRequest) {
         LeaveRequest updatedLeaveRequest = leaveRequestServiceImpl.updateLeaveRequest(id, leaveRequest);
@@ -132,95 +216,187 @@ public class LeaveRequestController {
     }
 
 
+    // List endpoints are keyset-paginated: ?size= bounds the page and the X-Next-Cursor response
+    // header carries the ?cursor= value for the next page (absent on the last page)
     @GetMapping
-    public ResponseEntity<List<LeaveRequest>> getAllLeaveRequests() {
-        List<LeaveRequest> leaveRequest = leaveRequestServiceImpl.getAllLeaveRequests();
-        if (leaveRequest.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(leaveRequest);
+    public ResponseEntity<List<LeaveRequestSummary>> getAllLeaveRequests(@RequestParam(value = "cursor", required = false) Long cursor,
+                                                                  @RequestParam(value = "size", required = false) Integer size) {
+        LeavePage<LeaveRequestSummary> leaveRequest = leaveRequestServiceImpl.getAllLeaveRequests(cursor, size);
+        if (leaveRequest.getItems().isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(leaveRequest.getItems());
+        }
+        return pageResponse(leaveRequest);
+    }
+
+    // Retrieving the full details of one leave request
+    @GetMapping("/{id}")
+    public ResponseEntity<LeaveRequest> getLeaveRequestById(@PathVariable Long id) {
+        return ResponseEntity.ok(leaveRequestServiceImpl.getLeaveRequestById(id));
+    }
+
+    // Searching leave requests with any combination of filters; from/to match leaves overlapping the range
+    @GetMapping("/search")
+    public ResponseEntity<LeavePage<LeaveRequestSummary>> searchLeaveRequests(
+            @RequestParam(value = "employeeId", required = false) String employeeId,
+            @RequestParam(value = "managerId", required = false) String managerId,
+            @RequestParam(value = "leaveStatus", required = false) LeaveRequest.LeaveStatus leaveStatus,
+            @RequestParam(value = "leaveType", required = false) LeaveRequest.LeaveType leaveType,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "cursor", required = false) Long cursor,
+            @RequestParam(value = "size", required = false) Integer size) {
+        LeaveRequestFilter filter = new LeaveRequestFilter(employeeId, managerId, leaveStatus, leaveType, from, to);
+        return ResponseEntity.ok(leaveRequestServiceImpl.searchLeaveRequests(filter, cursor, size));
+    }
+
+    // Exporting leave requests as NDJSON or CSV, streamed row by row from the database
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportLeaveRequests(
+            @RequestParam(value = "format", defaultValue = "ndjson") String format,
+            @RequestParam(value = "employeeId", required = false) String employeeId,
+            @RequestParam(value = "managerId", required = false) String managerId,
+            @RequestParam(value = "leaveStatus", required = false) LeaveRequest.LeaveStatus leaveStatus,
+            @RequestParam(value = "leaveType", required = false) LeaveRequest.LeaveType leaveType,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LeaveExportService.Format exportFormat;
+        try {
+            exportFormat = LeaveExportService.Format.valueOf(format.toUpperCase());
+        } catch (Exception e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
-        return new ResponseEntity<>(leaveRequest, HttpStatus.OK);
+        LeaveRequestFilter filter = new LeaveRequestFilter(employeeId, managerId, leaveStatus, leaveType, from, to);
+        StreamingResponseBody body = outputStream -> leaveExportService.export(filter, exportFormat, outputStream);
+        MediaType mediaType = exportFormat == LeaveExportService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : new MediaType("application", "x-ndjson", StandardCharsets.UTF_8);
+        String fileName = "leave-requests." + exportFormat.name().toLowerCase();
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    // Team availability: per-day count and list of a manager's reports on approved leave in [from, to]
+    @GetMapping("/availability/manager/{managerId}")
+    public ResponseEntity<List<TeamAvailabilityDay>> getTeamAvailability(
+            @PathVariable String managerId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(teamAvailabilityIndex.availability(managerId, from, to));
     }
 
     @GetMapping("/{status}/manager/{managerId}")
-    public ResponseEntity<List<LeaveRequest>> getLeaveRequestsByStatus(@PathVariable String status, @PathVariable String managerId) {
+    public ResponseEntity<List<LeaveRequestSummary>> getLeaveRequestsByStatus(@PathVariable String status, @PathVariable String managerId,
+                                                                       @RequestParam(value = "cursor", required = false) Long cursor,
+                                                                       @RequestParam(value = "size", required = false) Integer size) {
         LeaveRequest.LeaveStatus leaveStatus;
         try {
             leaveStatus = LeaveRequest.LeaveStatus.valueOf(status.toUpperCase());
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
-        List<LeaveRequest> leaveRequests = leaveRequestServiceImpl.getLeaveRequestsByStatus(managerId, leaveStatus);
-        if (leaveRequests.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(leaveRequests);
+        LeavePage<LeaveRequestSummary> leaveRequests = leaveRequestServiceImpl.getLeaveRequestsByStatus(managerId, leaveStatus, cursor, size);
+        if (leaveRequests.getItems().isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(leaveRequests.getItems());
         }
-        return ResponseEntity.ok(leaveRequests);
+        return pageResponse(leaveRequests);
     }
 
     @GetMapping("/pending/employee/{employeeId}")
-    public ResponseEntity<List<LeaveRequest>> getAllPendingLeaveRequestsEmployees(String employeeId) {
-        List<LeaveRequest> pendingRequests = leaveRequestServiceImpl.getAllPendingLeaveRequestsEmployee(employeeId);
-        if (pendingRequests.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(pendingRequests);
+    public ResponseEntity<List<LeaveRequestSummary>> getAllPendingLeaveRequestsEmployees(@PathVariable String employeeId,
+                                                                                  @RequestParam(value = "cursor", required = false) Long cursor,
+                                                                                  @RequestParam(value = "size", required = false) Integer size) {
+        LeavePage<LeaveRequestSummary> pendingRequests = leaveRequestServiceImpl.getAllPendingLeaveRequestsEmployee(employeeId, cursor, size);
+        if (pendingRequests.getItems().isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(pendingRequests.getItems());
         }
-        return new ResponseEntity<>(pendingRequests, HttpStatus.OK);
+        return pageResponse(pendingRequests);
     }
 
     @GetMapping("/approve/employee/{employeeId}")
-    public ResponseEntity<List<LeaveRequest>> getAllApprovedLeaveRequestsEmployee(String employeeId) {
-        List<LeaveRequest> approveRequests = leaveRequestServiceImpl.getAllApprovedLeaveRequestsEmployee(employeeId);
-        if (approveRequests.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(approveRequests);
+    public ResponseEntity<List<LeaveRequestSummary>> getAllApprovedLeaveRequestsEmployee(@PathVariable String employeeId,
+                                                                                  @RequestParam(value = "cursor", required = false) Long cursor,
+                                                                                  @RequestParam(value = "size", required = false) Integer size) {
+        LeavePage<LeaveRequestSummary> approveRequests = leaveRequestServiceImpl.getAllApprovedLeaveRequestsEmployee(employeeId, cursor, size);
+        if (approveRequests.getItems().isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(approveRequests.getItems());
         }
-        return new ResponseEntity<>(approveRequests, HttpStatus.OK);
+        return pageResponse(approveRequests);
     }
 
     @GetMapping("/reject/employee/{employeeId}")
-    public ResponseEntity<List<LeaveRequest>> getAllRejectedLeaveRequestsEmployee(String employeeId) {
-        List<LeaveRequest> rejectRequests = leaveRequestServiceImpl.getAllRejectedLeaveRequestsEmployee(employeeId);
-        if (rejectRequests.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(rejectRequests);
+    public ResponseEntity<List<LeaveRequestSummary>> getAllRejectedLeaveRequestsEmployee(@PathVariable String employeeId,
+                                                                                  @RequestParam(value = "cursor", required = false) Long cursor,
+                                                                                  @RequestParam(value = "size", required = false) Integer size) {
+        LeavePage<LeaveRequestSummary> rejectRequests = leaveRequestServiceImpl.getAllRejectedLeaveRequestsEmployee(employeeId, cursor, size);
+        if (rejectRequests.getItems().isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(rejectRequests.getItems());
         }
-        return new ResponseEntity<>(rejectRequests, HttpStatus.OK);
+        return pageResponse(rejectRequests);
     }
 
     @GetMapping("/manager/{managerId}")
-    public ResponseEntity<List<LeaveRequest>> getAllMangerIds(@PathVariable String managerId) {
-        List<LeaveRequest> leaveRequest = leaveRequestServiceImpl.getAllManagerId(managerId);
-        if (leaveRequest.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(leaveRequest);
+    public ResponseEntity<List<LeaveRequestSummary>> getAllMangerIds(@PathVariable String managerId,
+                                                              @RequestParam(value = "cursor", required = false) Long cursor,
+                                                              @RequestParam(value = "size", required = false) Integer size) {
+        LeavePage<LeaveRequestSummary> leaveRequest = leaveRequestServiceImpl.getAllManagerId(managerId, cursor, size);
+        if (leaveRequest.getItems().isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(leaveRequest.getItems());
         }
-        return new ResponseEntity<>(leaveRequest, HttpStatus.OK);
+        return pageResponse(leaveRequest);
     }
 
     @GetMapping("/employee/{employeeId}")
-    public ResponseEntity<List<LeaveRequest>> getAllEmployeeIds(@PathVariable String employeeId) {
-        List<LeaveRequest> leaveRequest = leaveRequestServiceImpl.getAllEmployeeId(employeeId);
-        return ResponseEntity.ok(leaveRequest);
+    public ResponseEntity<List<LeaveRequestSummary>> getAllEmployeeIds(@PathVariable String employeeId,
+                                                                @RequestParam(value = "cursor", required = false) Long cursor,
+                                                                @RequestParam(value = "size", required = false) Integer size) {
+        LeavePage<LeaveRequestSummary> leaveRequest = leaveRequestServiceImpl.getAllEmployeeId(employeeId, cursor, size);
+        return pageResponse(leaveRequest);
+    }
+
+    private <T> ResponseEntity<List<T>> pageResponse(LeavePage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.getNextCursor()));
+        }
+        return response.body(page.getItems());
     }
 
 
+    // Size of a leave request's medical document (?id=). Files uploaded before content-addressed storage
+    // were kept flat under the upload directory and are still found by ?fileName=.
     @GetMapping("/fileSize")
-    public ResponseEntity<Map<String, Long>> getFileSize(@RequestParam String fileName) {
+    public ResponseEntity<Map<String, Long>> getFileSize(@RequestParam(value = "id", required = false) Long id,
+                                                         @RequestParam(value = "fileName", required = false) String fileName) {
+        Map<String, Long> response = new HashMap<>();
         try {
-            Path filePath = Paths.get(uploadDir, fileName); // Construct the file path
-            File file = filePath.toFile(); // Convert to File object
-
-            if (file.exists()) {
-                Map<String, Long> response = new HashMap<>();
-                response.put("size", file.length()); // Size in bytes
-                return ResponseEntity.ok(response);
-            } else {
-                // If the file does not exist, return a size of 0 with an appropriate message
-                Map<String, Long> response = new HashMap<>();
-                response.put("size", 0L); // File not found, size is 0
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+            if (id != null) {
+                Long documentId = leaveRequestServiceImpl.getLeaveRequestById(id).getMedicalDocumentId();
+                if (documentId != null) {
+                    response.put("size", documentStorageService.getDocument(documentId).getSizeBytes()); // Size in bytes
+                    return ResponseEntity.ok(response);
+                }
+            } else if (fileName != null) {
+                Path root = Paths.get(uploadDir).toAbsolutePath().normalize();
+                Path filePath = root.resolve(fileName).normalize(); // Construct the file path
+                File file = filePath.toFile(); // Convert to File object
+                if (filePath.getParent() != null && filePath.getParent().equals(root) && file.isFile()) {
+                    response.put("size", file.length()); // Size in bytes
+                    return ResponseEntity.ok(response);
+                }
             }
+            // If the file does not exist, return a size of 0 with an appropriate message
+            response.put("size", 0L); // File not found, size is 0
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        } catch (ResourceNotFoundException e) {
+            response.put("size", 0L);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
         } catch (Exception e) {
             // Return size as 0 in case of error
-            Map<String, Long> response = new HashMap<>();
             response.put("size", 0L); // Error occurred, size is 0
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
         }
     }
 
-}
\ No newline at end of file
+}
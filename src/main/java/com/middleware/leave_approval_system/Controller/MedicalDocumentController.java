@@ -0,0 +1,151 @@
+package com.middleware.leave_approval_system.Controller;
+
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import com.middleware.leave_approval_system.Entity.StoredDocument;
+import com.middleware.leave_approval_system.Exception.ResourceNotFoundException;
+import com.middleware.leave_approval_system.Service.DocumentStorageService;
+import com.middleware.leave_approval_system.Service.LeaveRequestServiceImpl;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.List;
+
+@RestController
+@RequestMapping("/leave")
+public class MedicalDocumentController {
+
+    // Tomcat request attributes for sendfile: the connector writes the file region itself, without copying it through the heap
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final List<MediaType> INLINE_TYPES = List.of(MediaType.APPLICATION_PDF, MediaType.IMAGE_PNG, MediaType.IMAGE_JPEG);
+
+    @Autowired
+    private LeaveRequestServiceImpl leaveRequestServiceImpl;
+
+    @Autowired
+    private DocumentStorageService documentStorageService;
+
+    // Downloading the medical document of a leave request. Supports a single byte Range,
+    // If-Range, and conditional requests on the content-hash ETag and Last-Modified.
+    @GetMapping("/{id}/medical-document")
+    public void downloadMedicalDocument(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        LeaveRequest leaveRequest = leaveRequestServiceImpl.getLeaveRequestById(id);
+        if (leaveRequest.getMedicalDocumentId() == null) {
+            throw new ResourceNotFoundException("No medical document found for leave request ID: " + id);
+        }
+        StoredDocument document = documentStorageService.getDocument(leaveRequest.getMedicalDocumentId());
+        Path path = documentStorageService.resolvePath(document);
+        if (!Files.isReadable(path)) {
+            throw new ResourceNotFoundException("Medical document file is missing for leave request ID: " + id);
+        }
+
+        // Content is addressed by its hash, so the hash is a strong validator
+        String etag = "\"" + document.getSha256() + "\"";
+        long lastModified = document.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        long length = document.getSizeBytes();
+        long start = 0;
+        long end = length - 1;
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(range);
+                // Multiple ranges are answered with the whole file, which RFC 9110 allows
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+        }
+
+        long count = end - start + 1;
+        // The content type comes from the uploader: only known-safe types are shown inline, anything else
+        // (HTML, SVG, ...) is downloaded as opaque bytes so it never runs on this origin
+        MediaType contentType = inlineType(document.getContentType());
+        String fileName = leaveRequest.getMedicalDocument() != null ? leaveRequest.getMedicalDocument() : document.getSha256();
+        ContentDisposition.Builder disposition = contentType != null ? ContentDisposition.inline() : ContentDisposition.attachment();
+        response.setContentType(contentType != null ? contentType.toString() : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(count);
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, disposition.filename(fileName, StandardCharsets.UTF_8).build().toString());
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        // No sendfile (e.g. another servlet container): FileChannel.transferTo still avoids an application-level buffer
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    // Returns the stored type without parameters if it may be shown inline, otherwise null
+    private static MediaType inlineType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            for (MediaType inlineType : INLINE_TYPES) {
+                if (inlineType.equalsTypeAndSubtype(mediaType)) {
+                    return inlineType;
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            // Unparseable types are served as bytes
+        }
+        return null;
+    }
+}
@@ -0,0 +1,21 @@
+package com.middleware.leave_approval_system.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One item of a bulk approve/reject call; reason is stored as the leave reason on REJECT
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class LeaveDecision {
+
+    private Long id;
+    private Decision decision;
+    private String reason;
+
+    public enum Decision {
+        APPROVE,
+        REJECT
+    }
+}
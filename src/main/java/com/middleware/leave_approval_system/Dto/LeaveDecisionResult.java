@@ -0,0 +1,24 @@
+package com.middleware.leave_approval_system.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Per-item outcome of a bulk approve/reject call
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class LeaveDecisionResult {
+
+    private Long id;
+    private Outcome outcome;
+    private String message;
+
+    public enum Outcome {
+        APPROVED,
+        REJECTED,
+        NOT_FOUND,
+        NOT_PENDING,
+        INVALID
+    }
+}
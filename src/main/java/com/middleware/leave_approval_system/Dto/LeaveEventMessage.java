@@ -0,0 +1,32 @@
+package com.middleware.leave_approval_system.Dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import com.middleware.leave_approval_system.Event.LeaveRequestChangedEvent;
+import com.middleware.leave_approval_system.Event.LeaveSnapshot;
+
+import java.time.LocalDate;
+
+// Data of a leave event pushed to /leave/events subscribers: the change and the request's state after it
+// (its last state for a deletion)
+public record LeaveEventMessage(LeaveRequestChangedEvent.ChangeType changeType,
+                                Long id,
+                                String employeeId,
+                                String firstName,
+                                String lastName,
+                                String managerId,
+                                LeaveRequest.LeaveType leaveType,
+                                LeaveRequest.LeaveStatus leaveStatus,
+                                @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+                                LocalDate leaveStartDate,
+                                @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+                                LocalDate leaveEndDate,
+                                Double duration) {
+
+    public static LeaveEventMessage of(LeaveRequestChangedEvent event) {
+        LeaveSnapshot leave = event.current();
+        return new LeaveEventMessage(event.changeType(), leave.id(), leave.employeeId(), leave.firstName(), leave.lastName(),
+                leave.managerId(), leave.leaveType(), leave.leaveStatus(), leave.leaveStartDate(), leave.leaveEndDate(),
+                leave.duration());
+    }
+}
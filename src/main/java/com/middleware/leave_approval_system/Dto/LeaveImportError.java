@@ -0,0 +1,5 @@
+package com.middleware.leave_approval_system.Dto;
+
+// A CSV row that was not imported; line is where the row starts in the file (the header is line 1)
+public record LeaveImportError(long line, String message) {
+}
@@ -0,0 +1,11 @@
+package com.middleware.leave_approval_system.Dto;
+
+import java.util.List;
+
+// Outcome of a CSV import. errors holds at most leave.import.max-reported-errors rows; errorsTruncated says more failed.
+public record LeaveImportResult(long rows,
+                                long imported,
+                                long failed,
+                                List<LeaveImportError> errors,
+                                boolean errorsTruncated) {
+}
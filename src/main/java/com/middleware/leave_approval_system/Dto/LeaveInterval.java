@@ -0,0 +1,7 @@
+package com.middleware.leave_approval_system.Dto;
+
+import java.time.LocalDate;
+
+// Dates of one non-rejected leave, as held by the in-memory overlap index
+public record LeaveInterval(Long id, LocalDate leaveStartDate, LocalDate leaveEndDate) {
+}
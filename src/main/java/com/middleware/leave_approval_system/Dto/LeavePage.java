@@ -0,0 +1,18 @@
+package com.middleware.leave_approval_system.Dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// One page of a keyset-paginated list. Pass nextCursor back as ?cursor= to get the following page;
+// it is null on the last page.
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class LeavePage<T> {
+
+    private List<T> items;
+    private Long nextCursor;
+}
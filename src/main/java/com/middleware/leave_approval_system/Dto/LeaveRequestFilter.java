@@ -0,0 +1,37 @@
+package com.middleware.leave_approval_system.Dto;
+
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Optional filters for leave list queries; null fields are ignored.
+// from/to select leaves that overlap the date range.
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class LeaveRequestFilter {
+
+    private String employeeId;
+    private String managerId;
+    private LeaveRequest.LeaveStatus leaveStatus;
+    private LeaveRequest.LeaveType leaveType;
+    private LocalDate from;
+    private LocalDate to;
+
+    public static LeaveRequestFilter forManager(String managerId, LeaveRequest.LeaveStatus leaveStatus) {
+        LeaveRequestFilter filter = new LeaveRequestFilter();
+        filter.setManagerId(managerId);
+        filter.setLeaveStatus(leaveStatus);
+        return filter;
+    }
+
+    public static LeaveRequestFilter forEmployee(String employeeId, LeaveRequest.LeaveStatus leaveStatus) {
+        LeaveRequestFilter filter = new LeaveRequestFilter();
+        filter.setEmployeeId(employeeId);
+        filter.setLeaveStatus(leaveStatus);
+        return filter;
+    }
+}
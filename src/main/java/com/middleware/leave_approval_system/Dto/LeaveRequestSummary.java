@@ -0,0 +1,23 @@
+package com.middleware.leave_approval_system.Dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+
+import java.time.LocalDate;
+
+// Row of the leave list views: only the columns the dashboards show.
+// The full LeaveRequest is served by GET /leave/{id}.
+public record LeaveRequestSummary(Long id,
+                                  String employeeId,
+                                  String firstName,
+                                  String lastName,
+                                  String managerId,
+                                  String managerName,
+                                  LeaveRequest.LeaveType leaveType,
+                                  LeaveRequest.LeaveStatus leaveStatus,
+                                  @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+                                  LocalDate leaveStartDate,
+                                  @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+                                  LocalDate leaveEndDate,
+                                  Double duration) {
+}
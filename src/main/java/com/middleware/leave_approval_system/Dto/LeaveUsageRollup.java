@@ -0,0 +1,16 @@
+package com.middleware.leave_approval_system.Dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+
+import java.time.YearMonth;
+
+// One bucket of GET /analytics/usage: requests and business days per manager, type, status and start month
+public record LeaveUsageRollup(String managerId,
+                               LeaveRequest.LeaveType leaveType,
+                               LeaveRequest.LeaveStatus leaveStatus,
+                               @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM")
+                               YearMonth month,
+                               long requestCount,
+                               double businessDays) {
+}
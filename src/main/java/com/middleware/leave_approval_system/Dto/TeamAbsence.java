@@ -0,0 +1,18 @@
+package com.middleware.leave_approval_system.Dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+
+import java.time.LocalDate;
+
+// An approved leave of one of a manager's reports, as held by TeamAvailabilityIndex
+public record TeamAbsence(Long id,
+                          String employeeId,
+                          String firstName,
+                          String lastName,
+                          LeaveRequest.LeaveType leaveType,
+                          @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+                          LocalDate leaveStartDate,
+                          @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+                          LocalDate leaveEndDate) {
+}
@@ -0,0 +1,13 @@
+package com.middleware.leave_approval_system.Dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// One day of GET /leave/availability/manager/{managerId}: how many of the team are out and who
+public record TeamAvailabilityDay(@JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+                                  LocalDate date,
+                                  int absent,
+                                  List<TeamAbsence> absences) {
+}
@@ -0,0 +1,52 @@
+package com.middleware.leave_approval_system.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Outgoing email written in the same transaction as the leave request change.
+// EmailOutboxDispatcher drains PENDING rows in the background.
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Entity
+@Table(name = "email_outbox")
+public class EmailOutbox {
+
+    // Table-generated so that outbox rows written by one transaction are inserted as a JDBC batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "email_outbox_id")
+    @TableGenerator(name = "email_outbox_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "email_outbox", allocationSize = 50)
+    private Long id;
+
+    private String recipient;
+    private String subject;
+
+    @Lob
+    private String body;
+
+    // Optional HTML alternative of body
+    @Lob
+    private String htmlBody;
+
+    @Enumerated(EnumType.STRING)
+    private OutboxStatus status;
+
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    public enum OutboxStatus {
+        PENDING,
+        SENT,
+        FAILED
+    }
+}
@@ -0,0 +1,30 @@
+package com.middleware.leave_approval_system.Entity;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// Region-specific holiday; national holidays that repeat every year come from holidays.national
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Entity
+@Table(name = "holiday", uniqueConstraints = @UniqueConstraint(
+        name = "uk_holiday_region_date", columnNames = {"region", "holiday_date"}))
+public class Holiday {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String region;
+
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private LocalDate holidayDate;
+
+    private String name;
+}
@@ -0,0 +1,31 @@
+package com.middleware.leave_approval_system.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Running total of business days booked per employee, leave type and year.
+// Maintained by LeaveBalanceService so balance checks never scan leave history.
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Entity
+@Table(name = "leave_balance", uniqueConstraints = @UniqueConstraint(
+        name = "uk_leave_balance_employee_type_year", columnNames = {"employee_id", "leave_type", "balance_year"}))
+public class LeaveBalance {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String employeeId;
+
+    @Enumerated(EnumType.STRING)
+    private LeaveRequest.LeaveType leaveType;
+
+    private int balanceYear;
+
+    // Business days of PENDING and APPROVED leaves starting in balanceYear
+    private double usedDays;
+}
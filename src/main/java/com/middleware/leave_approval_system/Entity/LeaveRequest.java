@@ -2,13 +2,12 @@ package com.middleware.leave_approval_system.Entity;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.middleware.leave_approval_system.Exception.ResourceNotFoundException;
+import com.middleware.leave_approval_system.Util.BusinessCalendar;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.util.List;
 
 
 
@@ -18,8 +17,11 @@ import java.util.List;
 @Entity
 public class LeaveRequest {
 
+    // Ids come in blocks of 50 from the id_generator table, so inserts can be batched (bulk import, bulk submit)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "leave_request_id")
+    @TableGenerator(name = "leave_request_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "leave_request", allocationSize = 50)
     private Long id;
 
     private String employeeId;
@@ -49,11 +51,17 @@ public class LeaveRequest {
     private String durationType;
     private String comments;
 
+    // Original file name of the medical document; the content is the StoredDocument with medicalDocumentId
     private String medicalDocument;
+    private Long medicalDocumentId;
 
     @Enumerated(EnumType.STRING)
     private LeaveStatus leaveStatus;
 
+    // Optimistic lock: concurrent decisions on the same request fail instead of both applying
+    @Version
+    private Long version;
+
     public enum LeaveStatus {
         PENDING,
         APPROVED,
@@ -71,7 +79,7 @@ public class LeaveRequest {
     }
 
 
-    public void calculateDuration(List<LocalDate> nationalHolidays) {
+    public void calculateDuration(BusinessCalendar businessCalendar) {
         if (leaveStartDate == null || leaveEndDate == null) {
             throw new ResourceNotFoundException("Leave start and end dates cannot be null.");
         }
@@ -81,7 +89,7 @@ public class LeaveRequest {
         }
 
         // Calculate business days excluding weekends and national holidays
-        double businessDays = calculateBusinessDays(leaveStartDate, leaveEndDate, nationalHolidays);
+        double businessDays = calculateBusinessDays(leaveStartDate, leaveEndDate, businessCalendar);
 
         // Each business day is equivalent to 8 working hours
         int workingHoursPerDay = 8;
@@ -92,14 +100,8 @@ public class LeaveRequest {
         this.durationType = "Days"; // Indicates the unit used
     }
 
-    public double calculateBusinessDays(LocalDate startDate, LocalDate endDate, List<LocalDate> nationalHolidays) {
-        return startDate.datesUntil(endDate.plusDays(1)) // Inclusive of endDate
-                .filter(date -> !isWeekend(date) && !nationalHolidays.contains(date))
-                .count();
-    }
-
-    private boolean isWeekend(LocalDate date) {
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
-        return dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY;
+    // Weekends and holidays are excluded; the range is inclusive of endDate and may span years
+    public double calculateBusinessDays(LocalDate startDate, LocalDate endDate, BusinessCalendar businessCalendar) {
+        return businessCalendar.countBusinessDays(startDate, endDate);
     }
 }
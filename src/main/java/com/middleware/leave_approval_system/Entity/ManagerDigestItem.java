@@ -0,0 +1,26 @@
+package com.middleware.leave_approval_system.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A submitted leave request whose manager notification waits for the next digest email.
+// ManagerDigestService sends and deletes the rows once the manager's oldest one is past the window.
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Entity
+@Table(name = "manager_digest_item")
+public class ManagerDigestItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String managerEmail;
+    private Long leaveRequestId;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,36 @@
+package com.middleware.leave_approval_system.Entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Uploaded file stored once per content hash under file.upload-dir
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Entity
+@Table(name = "stored_document", uniqueConstraints = @UniqueConstraint(
+        name = "uk_stored_document_sha256", columnNames = {"sha256"}))
+public class StoredDocument {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 64)
+    private String sha256;
+
+    private long sizeBytes;
+    private String contentType;
+
+    // Path relative to file.upload-dir
+    private String storagePath;
+
+    private LocalDateTime createdAt;
+
+    // Last upload or deduplication onto this content; unreferenced documents are swept a grace period after it
+    private LocalDateTime lastUsedAt;
+}
@@ -0,0 +1,5 @@
+package com.middleware.leave_approval_system.Event;
+
+// Published by HolidayCalendarService after a reload; region is null when every region was reloaded
+public record HolidaysReloadedEvent(String region) {
+}
@@ -0,0 +1,6 @@
+package com.middleware.leave_approval_system.Event;
+
+// Published by LeaveImportService after an import that added rows without per-request change events;
+// in-memory views of leave requests should drop what they hold
+public record LeaveDataImportedEvent(long imported) {
+}
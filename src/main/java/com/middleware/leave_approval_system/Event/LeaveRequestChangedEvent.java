@@ -0,0 +1,19 @@
+package com.middleware.leave_approval_system.Event;
+
+// Published by LeaveRequestServiceImpl inside the transaction that changes a leave request.
+// before is null for SUBMITTED, after is null for DELETED.
+public record LeaveRequestChangedEvent(ChangeType changeType, LeaveSnapshot before, LeaveSnapshot after) {
+
+    public enum ChangeType {
+        SUBMITTED,
+        APPROVED,
+        REJECTED,
+        UPDATED,
+        DELETED
+    }
+
+    // The state after the change, or the last known state for a deletion
+    public LeaveSnapshot current() {
+        return after != null ? after : before;
+    }
+}
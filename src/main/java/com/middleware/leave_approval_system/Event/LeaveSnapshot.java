@@ -0,0 +1,29 @@
+package com.middleware.leave_approval_system.Event;
+
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+
+import java.time.LocalDate;
+
+// Immutable copy of the fields of a LeaveRequest that listeners react to
+public record LeaveSnapshot(Long id,
+                            String employeeId,
+                            String firstName,
+                            String lastName,
+                            String managerId,
+                            String managerEmail,
+                            LeaveRequest.LeaveType leaveType,
+                            LeaveRequest.LeaveStatus leaveStatus,
+                            LocalDate leaveStartDate,
+                            LocalDate leaveEndDate,
+                            Double duration) {
+
+    public static LeaveSnapshot of(LeaveRequest leaveRequest) {
+        if (leaveRequest == null) {
+            return null;
+        }
+        return new LeaveSnapshot(leaveRequest.getId(), leaveRequest.getEmployeeId(), leaveRequest.getFirstName(),
+                leaveRequest.getLastName(), leaveRequest.getManagerId(), leaveRequest.getManagerEmail(),
+                leaveRequest.getLeaveType(), leaveRequest.getLeaveStatus(), leaveRequest.getLeaveStartDate(),
+                leaveRequest.getLeaveEndDate(), leaveRequest.getDuration());
+    }
+}
@@ -1,5 +1,6 @@
 package com.middleware.leave_approval_system.Exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -24,4 +25,24 @@ public class GlobalExceptionHandler {
         responseBody.put("details", request.getDescription(false));
         return new ResponseEntity<>(responseBody, HttpStatus.NOT_FOUND);
     }
+
+    // Triggered when a decision or update conflicts with the current state of the leave request
+    @ExceptionHandler(LeaveConflictException.class)
+    public ResponseEntity<Object> leaveConflictException(LeaveConflictException e, WebRequest request) {
+        return conflict(e.getMessage(), request);
+    }
+
+    // Triggered when another request changed the same leave request first (@Version mismatch)
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Object> optimisticLockingFailureException(OptimisticLockingFailureException e, WebRequest request) {
+        return conflict("The leave request was changed by another request; reload it and try again.", request);
+    }
+
+    private ResponseEntity<Object> conflict(String message, WebRequest request) {
+        Map<String, Object> responseBody=new HashMap<>();
+        responseBody.put("timestamp", LocalDateTime.now());
+        responseBody.put("message", message);
+        responseBody.put("details", request.getDescription(false));
+        return new ResponseEntity<>(responseBody, HttpStatus.CONFLICT);
+    }
 }
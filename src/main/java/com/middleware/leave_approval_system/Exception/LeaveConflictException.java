@@ -0,0 +1,9 @@
+package com.middleware.leave_approval_system.Exception;
+
+// Thrown when a request conflicts with the current state of a leave request, e.g. deciding one that is no longer PENDING
+public class LeaveConflictException extends RuntimeException {
+
+    public LeaveConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.middleware.leave_approval_system.Repository;
+
+import com.middleware.leave_approval_system.Entity.Holiday;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface HolidayRepo extends JpaRepository<Holiday, Long> {
+
+    List<Holiday> findByRegionAndHolidayDateBetween(String region, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,26 @@
+package com.middleware.leave_approval_system.Repository;
+
+import com.middleware.leave_approval_system.Entity.LeaveBalance;
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface LeaveBalanceRepo extends JpaRepository<LeaveBalance, Long> {
+
+    // Plain (non-locking) read, so checking for a missing row takes no gap lock
+    boolean existsByEmployeeIdAndLeaveTypeAndBalanceYear(String employeeId, LeaveRequest.LeaveType leaveType, int balanceYear);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM LeaveBalance b WHERE b.employeeId = :employeeId " +
+            "AND b.leaveType = :leaveType AND b.balanceYear = :balanceYear")
+    Optional<LeaveBalance> findForUpdate(@Param("employeeId") String employeeId,
+                                         @Param("leaveType") LeaveRequest.LeaveType leaveType,
+                                         @Param("balanceYear") int balanceYear);
+}
@@ -1,6 +1,7 @@
 package com.middleware.leave_approval_system.Repository;
 
 
+import com.middleware.leave_approval_system.Dto.TeamAbsence;
 import com.middleware.leave_approval_system.Entity.LeaveRequest;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -12,7 +13,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface LeaveRequestRepo extends JpaRepository<LeaveRequest, Long> {
+public interface LeaveRequestRepo extends JpaRepository<LeaveRequest, Long>, LeaveRequestRepoCustom {
 
 
     List<LeaveRequest> findByLeaveStatus(LeaveRequest.LeaveStatus status);
@@ -32,11 +33,25 @@ public interface LeaveRequestRepo extends JpaRepository<LeaveRequest, Long> {
 
 
 
-    @Query("SELECT COALESCE(SUM(DATEDIFF(lr.leaveEndDate, lr.leaveStartDate) + 1), 0) " +
+    // A manager's leaves in one status; loads the team availability index on a cache miss
+    @Query("SELECT new com.middleware.leave_approval_system.Dto.TeamAbsence(lr.id, lr.employeeId, lr.firstName, lr.lastName, " +
+            "lr.leaveType, lr.leaveStartDate, lr.leaveEndDate) " +
+            "FROM LeaveRequest lr WHERE lr.managerId = :managerId AND lr.leaveStatus = :leaveStatus")
+    List<TeamAbsence> findTeamAbsencesByManagerIdAndLeaveStatus(@Param("managerId") String managerId,
+                                                                @Param("leaveStatus") LeaveRequest.LeaveStatus leaveStatus);
+
+    // Business days of an employee's non-rejected leaves of one type starting in [from, to], leaving out
+    // excludedId when given; seeds the leave_balance ledger
+    @Query("SELECT COALESCE(SUM(lr.duration), 0.0) " +
             "FROM LeaveRequest lr " +
             "WHERE lr.employeeId = :employeeId AND lr.leaveType = :leaveType " +
-            "AND lr.leaveStatus != 'REJECTED'")
-    Optional<Integer> getTotalLeaveDaysByEmployeeIdAndLeaveType(@Param("employeeId") String employeeId,
-                                                                @Param("leaveType") LeaveRequest.LeaveType leaveType);
+            "AND lr.leaveStartDate BETWEEN :from AND :to AND lr.leaveStatus <> :excludedStatus " +
+            "AND (:excludedId IS NULL OR lr.id <> :excludedId)")
+    Double sumDurationByEmployeeIdAndLeaveTypeAndStartDateBetween(@Param("employeeId") String employeeId,
+                                                                  @Param("leaveType") LeaveRequest.LeaveType leaveType,
+                                                                  @Param("from") LocalDate from,
+                                                                  @Param("to") LocalDate to,
+                                                                  @Param("excludedStatus") LeaveRequest.LeaveStatus excludedStatus,
+                                                                  @Param("excludedId") Long excludedId);
 
 }
@@ -0,0 +1,13 @@
+package com.middleware.leave_approval_system.Repository;
+
+import com.middleware.leave_approval_system.Dto.LeaveRequestFilter;
+import com.middleware.leave_approval_system.Dto.LeaveRequestSummary;
+
+import java.util.List;
+
+public interface LeaveRequestRepoCustom {
+
+    // Newest first: up to limit requests matching the filter with id < afterId (no bound when afterId is null).
+    // Selects only the summary columns.
+    List<LeaveRequestSummary> findSummaryPage(LeaveRequestFilter filter, Long afterId, int limit);
+}
@@ -0,0 +1,63 @@
+package com.middleware.leave_approval_system.Repository;
+
+import com.middleware.leave_approval_system.Dto.LeaveRequestFilter;
+import com.middleware.leave_approval_system.Dto.LeaveRequestSummary;
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LeaveRequestRepoCustomImpl implements LeaveRequestRepoCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<LeaveRequestSummary> findSummaryPage(LeaveRequestFilter filter, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<LeaveRequestSummary> query = cb.createQuery(LeaveRequestSummary.class);
+        Root<LeaveRequest> root = query.from(LeaveRequest.class);
+
+        List<Predicate> predicates = filterPredicates(cb, root, filter);
+        if (afterId != null) {
+            predicates.add(cb.lessThan(root.<Long>get("id"), afterId));
+        }
+        query.select(cb.construct(LeaveRequestSummary.class,
+                        root.get("id"), root.get("employeeId"), root.get("firstName"), root.get("lastName"),
+                        root.get("managerId"), root.get("managerName"), root.get("leaveType"), root.get("leaveStatus"),
+                        root.get("leaveStartDate"), root.get("leaveEndDate"), root.get("duration")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(cb.desc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    static List<Predicate> filterPredicates(CriteriaBuilder cb, Root<LeaveRequest> root, LeaveRequestFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getEmployeeId() != null) {
+            predicates.add(cb.equal(root.get("employeeId"), filter.getEmployeeId()));
+        }
+        if (filter.getManagerId() != null) {
+            predicates.add(cb.equal(root.get("managerId"), filter.getManagerId()));
+        }
+        if (filter.getLeaveStatus() != null) {
+            predicates.add(cb.equal(root.get("leaveStatus"), filter.getLeaveStatus()));
+        }
+        if (filter.getLeaveType() != null) {
+            predicates.add(cb.equal(root.get("leaveType"), filter.getLeaveType()));
+        }
+        if (filter.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.<LocalDate>get("leaveEndDate"), filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.<LocalDate>get("leaveStartDate"), filter.getTo()));
+        }
+        return predicates;
+    }
+}
@@ -0,0 +1,28 @@
+package com.middleware.leave_approval_system.Repository;
+
+import com.middleware.leave_approval_system.Entity.ManagerDigestItem;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ManagerDigestItemRepo extends JpaRepository<ManagerDigestItem, Long> {
+
+    // Managers with at least one item created at or before the cutoff
+    @Query("SELECT d.managerEmail FROM ManagerDigestItem d GROUP BY d.managerEmail HAVING MIN(d.createdAt) <= :cutoff")
+    List<String> findManagersDueBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    // Claims the manager's items; rows locked by another instance are skipped (lock timeout -2 = SKIP LOCKED)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT d FROM ManagerDigestItem d WHERE d.managerEmail = :managerEmail ORDER BY d.id")
+    List<ManagerDigestItem> findByManagerEmailForUpdate(@Param("managerEmail") String managerEmail);
+}
@@ -0,0 +1,13 @@
+package com.middleware.leave_approval_system.Repository;
+
+import com.middleware.leave_approval_system.Entity.StoredDocument;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface StoredDocumentRepo extends JpaRepository<StoredDocument, Long> {
+
+    Optional<StoredDocument> findBySha256(String sha256);
+}
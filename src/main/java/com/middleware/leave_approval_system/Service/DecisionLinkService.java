@@ -0,0 +1,85 @@
+package com.middleware.leave_approval_system.Service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+// Signed links for deciding a leave request from an email. A link names the request, the action and an
+// expiry, and carries an HMAC-SHA256 of the three (email.links.secret), so it cannot be forged or edited.
+// The links open a confirmation page (EmailDecisionController); only its POST changes anything, so mail
+// scanners that prefetch links cannot approve or reject on their own.
+@Service
+public class DecisionLinkService {
+
+    private static final Logger log = LoggerFactory.getLogger(DecisionLinkService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+
+    public enum Action {
+        APPROVE,
+        REJECT
+    }
+
+    @Autowired
+    private MailTemplateService mailTemplateService;
+
+    @Value("${email.links.secret:}")
+    private String secret;
+
+    @Value("${email.links.ttl-hours:168}")
+    private long ttlHours;
+
+    private SecretKeySpec key;
+
+    @PostConstruct
+    public void init() {
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+            log.warn("email.links.secret is not set; approve/reject links in emails stop working when this instance restarts");
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        key = new SecretKeySpec(keyBytes, ALGORITHM);
+    }
+
+    // Method to build the absolute link for one action on one leave request
+    public String link(Long leaveRequestId, Action action) {
+        long expires = Instant.now().plus(Duration.ofHours(ttlHours)).getEpochSecond();
+        return mailTemplateService.getBaseUrl() + "/leave/email-decision/" + leaveRequestId
+                + "?action=" + action.name() + "&expires=" + expires + "&token=" + sign(leaveRequestId, action, expires);
+    }
+
+    // Method to check a link's token; false when it was not issued for these values or has expired
+    public boolean verify(Long leaveRequestId, Action action, long expires, String token) {
+        if (leaveRequestId == null || action == null || token == null || Instant.now().getEpochSecond() > expires) {
+            return false;
+        }
+        byte[] expected = sign(leaveRequestId, action, expires).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, token.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private String sign(Long leaveRequestId, Action action, long expires) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] signature = mac.doFinal((leaveRequestId + ":" + action.name() + ":" + expires).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+}
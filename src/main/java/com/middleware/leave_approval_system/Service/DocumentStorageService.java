@@ -0,0 +1,212 @@
+package com.middleware.leave_approval_system.Service;
+
+import com.middleware.leave_approval_system.Entity.StoredDocument;
+import com.middleware.leave_approval_system.Exception.ResourceNotFoundException;
+import com.middleware.leave_approval_system.Repository.StoredDocumentRepo;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+
+// Content-addressed storage for uploaded documents. Uploads are streamed to disk through a
+// fixed-size buffer while being hashed, and stored at <upload-dir>/<aa>/<bb>/<sha256>, so the
+// same content uploaded twice is kept once and different files with the same name never collide.
+@Service
+public class DocumentStorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentStorageService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int SWEEP_BATCH_SIZE = 500;
+
+    private static final String TOUCH = "UPDATE stored_document SET last_used_at = ? WHERE id = ?";
+
+    private static final String UNREFERENCED = "last_used_at < ? " +
+            "AND NOT EXISTS (SELECT 1 FROM leave_request lr WHERE lr.medical_document_id = d.id)";
+
+    private static final String FIND_UNREFERENCED = "SELECT d.id FROM stored_document d WHERE " + UNREFERENCED + " LIMIT ?";
+
+    private static final String LOCK_UNREFERENCED = "SELECT d.storage_path FROM stored_document d WHERE d.id = ? AND " + UNREFERENCED + " FOR UPDATE";
+
+    @Value("${file.upload-dir}")
+    private String uploadDir;
+
+    @Autowired
+    private StoredDocumentRepo storedDocumentRepo;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${leave.documents.orphan-grace-hours:24}")
+    private long orphanGraceHours;
+
+    private TransactionTemplate sweepTransaction;
+
+    @PostConstruct
+    public void init() {
+        sweepTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    // Method to store an upload and return its metadata, reusing an existing copy of the same content.
+    // Records leave.document.upload (time) and leave.document.upload.size (bytes) by result: stored, deduplicated or error.
+    public StoredDocument store(MultipartFile file) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "error";
+        try {
+            Stored stored = storeContent(file);
+            result = stored.deduplicated() ? "deduplicated" : "stored";
+            return stored.document();
+        } finally {
+            sample.stop(Timer.builder("leave.document.upload").tag("result", result).register(meterRegistry));
+            DistributionSummary.builder("leave.document.upload.size")
+                    .baseUnit("bytes")
+                    .tag("result", result)
+                    .register(meterRegistry)
+                    .record(file.getSize());
+        }
+    }
+
+    private Stored storeContent(MultipartFile file) throws IOException {
+        Path root = Paths.get(uploadDir);
+        Path tempDir = root.resolve("tmp");
+        Files.createDirectories(tempDir);
+        Path tempFile = Files.createTempFile(tempDir, "upload-", ".part");
+        try {
+            MessageDigest digest = newDigest();
+            long size = 0;
+            try (ReadableByteChannel in = Channels.newChannel(file.getInputStream());
+                 FileChannel out = FileChannel.open(tempFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                while (in.read(buffer) != -1) {
+                    buffer.flip();
+                    buffer.mark();
+                    digest.update(buffer);
+                    buffer.reset();
+                    while (buffer.hasRemaining()) {
+                        size += out.write(buffer);
+                    }
+                    buffer.clear();
+                }
+            }
+
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            // Touching the row marks it as in use, so the sweeper leaves it alone; no row touched means it was just swept
+            StoredDocument existing = storedDocumentRepo.findBySha256(sha256).orElse(null);
+            if (existing != null && jdbcTemplate.update(TOUCH, LocalDateTime.now(), existing.getId()) == 1) {
+                return new Stored(existing, true);
+            }
+
+            String relativePath = sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256;
+            Path target = root.resolve(relativePath);
+            Files.createDirectories(target.getParent());
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            LocalDateTime now = LocalDateTime.now();
+            StoredDocument document = new StoredDocument(null, sha256, size, file.getContentType(), relativePath, now, now);
+            try {
+                return new Stored(storedDocumentRepo.save(document), false);
+            } catch (DataIntegrityViolationException e) {
+                // A concurrent upload of the same content won the insert; both wrote identical bytes
+                return new Stored(storedDocumentRepo.findBySha256(sha256).orElseThrow(() -> e), true);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    // Removes documents that no leave request references and nothing has used for leave.documents.orphan-grace-hours,
+    // such as the upload of a submit that failed. Each one is locked and re-checked before its row and file go, and an
+    // upload that deduplicates onto it touches it under the same lock first, so a document is never removed under a
+    // submit that is still running (submits finish well within the grace period).
+    @Scheduled(fixedDelayString = "${leave.documents.orphan-sweep-interval-ms:3600000}",
+            initialDelayString = "${leave.documents.orphan-sweep-interval-ms:3600000}")
+    public void sweepUnreferenced() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(orphanGraceHours);
+        int removed = 0;
+        for (Long id : jdbcTemplate.queryForList(FIND_UNREFERENCED, Long.class, cutoff, SWEEP_BATCH_SIZE)) {
+            try {
+                Boolean deleted = sweepTransaction.execute(status -> sweep(id, cutoff));
+                if (Boolean.TRUE.equals(deleted)) {
+                    removed++;
+                }
+            } catch (DataAccessException e) {
+                log.warn("Could not remove unreferenced document {}", id, e);
+            }
+        }
+        if (removed > 0) {
+            log.info("Removed {} unreferenced documents", removed);
+        }
+    }
+
+    private boolean sweep(Long id, LocalDateTime cutoff) {
+        List<String> paths = jdbcTemplate.queryForList(LOCK_UNREFERENCED, String.class, id, cutoff);
+        if (paths.isEmpty()) {
+            return false;
+        }
+        // The file goes first, while the row is still locked: an upload of the same content waits on that lock,
+        // finds the row gone and writes the file again
+        try {
+            Files.deleteIfExists(Paths.get(uploadDir).resolve(paths.get(0)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        jdbcTemplate.update("DELETE FROM stored_document WHERE id = ?", id);
+        return true;
+    }
+
+    public StoredDocument getDocument(Long id) {
+        return storedDocumentRepo.findById(id).orElseThrow(() -> new ResourceNotFoundException("Document not found for ID: " + id));
+    }
+
+    // Method to resolve where a stored document lives on disk
+    public Path resolvePath(StoredDocument document) {
+        return Paths.get(uploadDir).resolve(document.getStoragePath());
+    }
+
+    private record Stored(StoredDocument document, boolean deduplicated) {
+    }
+
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
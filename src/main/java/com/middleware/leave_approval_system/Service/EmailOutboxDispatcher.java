@@ -0,0 +1,236 @@
+package com.middleware.leave_approval_system.Service;
+
+import com.middleware.leave_approval_system.Entity.EmailOutbox;
+import com.middleware.leave_approval_system.Repository.EmailOutboxRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Background sender for the email outbox. Each batch goes out through a single
+// JavaMailSender.send(...) call, which reuses one SMTP connection for the whole batch.
+// A batch is claimed in a short transaction that moves its next_attempt_at to a lease deadline, sent with no
+// transaction or connection held, and its results are recorded in a second short transaction. Rows stay PENDING
+// while leased, so a dispatcher that dies mid-send leaves them to be picked up again once the lease runs out.
+@Component
+public class EmailOutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    @Autowired
+    private EmailOutboxRepo emailOutboxRepo;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${email.outbox.batch-size:50}")
+    private int batchSize;
+
+    @Value("${email.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${email.outbox.initial-backoff-ms:30000}")
+    private long initialBackoffMs;
+
+    @Value("${email.outbox.max-backoff-ms:3600000}")
+    private long maxBackoffMs;
+
+    // How long a claimed batch is reserved for its dispatcher; must comfortably exceed the SMTP send time of a batch
+    @Value("${email.outbox.lease-ms:300000}")
+    private long leaseMs;
+
+    private final AtomicLong queueDepth = new AtomicLong();
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder("email.outbox.depth", queueDepth, AtomicLong::get)
+                .description("Emails waiting in the outbox for delivery")
+                .register(meterRegistry);
+    }
+
+    // Method to drain due emails batch by batch until the outbox has nothing left to send
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:5000}")
+    public void dispatchPendingEmails() {
+        List<EmailOutbox> batch;
+        do {
+            batch = transactionTemplate.execute(status -> claimBatch());
+            if (batch.isEmpty()) {
+                break;
+            }
+            Map<Long, Exception> failures = send(batch);
+            List<EmailOutbox> sentBatch = batch;
+            transactionTemplate.executeWithoutResult(status -> recordResults(sentBatch, failures));
+        } while (batch.size() == batchSize);
+        queueDepth.set(emailOutboxRepo.countByStatus(EmailOutbox.OutboxStatus.PENDING));
+    }
+
+    // Current number of PENDING emails, refreshed after every dispatch run
+    public long getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    // Locks due rows (skipping those another dispatcher holds) only long enough to lease them
+    private List<EmailOutbox> claimBatch() {
+        List<EmailOutbox> batch = emailOutboxRepo.findDueForUpdate(
+                EmailOutbox.OutboxStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, batchSize));
+        // Truncated to the column's precision, so recordResults() can compare it with the stored value
+        LocalDateTime leaseUntil = LocalDateTime.now().plus(leaseMs, ChronoUnit.MILLIS).truncatedTo(ChronoUnit.MICROS);
+        for (EmailOutbox email : batch) {
+            email.setNextAttemptAt(leaseUntil);
+        }
+        return batch;
+    }
+
+    // Sends the claimed batch; returns the failure of each email that was not delivered, by id
+    private Map<Long, Exception> send(List<EmailOutbox> batch) {
+        // A message that cannot even be built fails on its own and is left out of the send
+        Map<Long, Exception> failures = new HashMap<>();
+        Map<MimeMessage, Long> sendable = new LinkedHashMap<>();
+        for (EmailOutbox email : batch) {
+            try {
+                sendable.put(toMessage(email), email.getId());
+            } catch (MessagingException e) {
+                failures.put(email.getId(), e);
+            }
+        }
+
+        Map<Object, Exception> sendFailures = new IdentityHashMap<>();
+        String outcome = "success";
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            mailSender.send(sendable.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            outcome = "partial";
+            sendFailures.putAll(e.getFailedMessages());
+            if (sendFailures.isEmpty()) {
+                outcome = "failure";
+                markAllFailed(sendable.keySet(), e, sendFailures);
+            }
+        } catch (MailException e) {
+            // Connection or authentication problem: nothing in the batch was delivered
+            outcome = "failure";
+            markAllFailed(sendable.keySet(), e, sendFailures);
+        }
+        sample.stop(Timer.builder("email.outbox.send")
+                .description("SMTP send time of one outbox batch")
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+
+        sendable.forEach((message, id) -> {
+            Exception failure = sendFailures.get(message);
+            if (failure != null) {
+                failures.put(id, failure);
+            }
+        });
+        return failures;
+    }
+
+    // Applies the send results to rows still under this dispatcher's lease
+    private void recordResults(List<EmailOutbox> batch, Map<Long, Exception> failures) {
+        Map<Long, LocalDateTime> leases = new HashMap<>();
+        for (EmailOutbox email : batch) {
+            leases.put(email.getId(), email.getNextAttemptAt());
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (EmailOutbox email : emailOutboxRepo.findAllById(leases.keySet())) {
+            if (email.getStatus() != EmailOutbox.OutboxStatus.PENDING || !leases.get(email.getId()).equals(email.getNextAttemptAt())) {
+                // The lease ran out during the send and another dispatcher took the email over; its result counts
+                log.warn("Lease on email {} expired before its send result was recorded", email.getId());
+                continue;
+            }
+            Exception failure = failures.get(email.getId());
+            if (failure == null) {
+                email.setStatus(EmailOutbox.OutboxStatus.SENT);
+                email.setSentAt(now);
+                email.setLastError(null);
+                countMessage("sent");
+            } else {
+                recordFailure(email, failure, now);
+            }
+        }
+    }
+
+    private void markAllFailed(Collection<MimeMessage> messages, Exception e, Map<Object, Exception> failures) {
+        for (MimeMessage message : messages) {
+            failures.put(message, e);
+        }
+    }
+
+    // Method to schedule the next attempt with exponential backoff, giving up after maxAttempts
+    private void recordFailure(EmailOutbox email, Exception failure, LocalDateTime now) {
+        int attempts = email.getAttempts() + 1;
+        email.setAttempts(attempts);
+        String error = String.valueOf(failure.getMessage());
+        email.setLastError(error.length() > 1000 ? error.substring(0, 1000) : error);
+        if (attempts >= maxAttempts) {
+            email.setStatus(EmailOutbox.OutboxStatus.FAILED);
+            countMessage("failed");
+            log.error("Giving up on email {} to {} after {} attempts: {}", email.getId(), email.getRecipient(), attempts, error);
+            return;
+        }
+        long backoffMs = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 20));
+        email.setNextAttemptAt(now.plus(backoffMs, ChronoUnit.MILLIS));
+        countMessage("retry");
+        log.warn("Email {} to {} failed (attempt {}), retrying in {} ms: {}", email.getId(), email.getRecipient(), attempts, backoffMs, error);
+    }
+
+    // Counts delivery results per message: sent, retry (failed, will be retried) or failed (gave up)
+    private void countMessage(String result) {
+        Counter.builder("email.outbox.messages")
+                .description("Outbox emails by delivery result")
+                .tag("result", result)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    // Plain text only, or multipart/alternative with the HTML part when the email has one
+    private MimeMessage toMessage(EmailOutbox email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        boolean hasHtml = email.getHtmlBody() != null;
+        MimeMessageHelper helper = new MimeMessageHelper(message, hasHtml, StandardCharsets.UTF_8.name());
+        helper.setTo(email.getRecipient());
+        helper.setSubject(email.getSubject());
+        if (hasHtml) {
+            helper.setText(email.getBody(), email.getHtmlBody());
+        } else {
+            helper.setText(email.getBody());
+        }
+        return message;
+    }
+}
@@ -1,77 +1,111 @@
 package com.middleware.leave_approval_system.Service;
 
+import com.middleware.leave_approval_system.Entity.EmailOutbox;
 import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import com.middleware.leave_approval_system.Repository.EmailOutboxRepo;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 @Service
 public class EmailService {
 
     @Autowired
-    private JavaMailSender mailSender;
+    private EmailOutboxRepo emailOutboxRepo;
+
+    // Compiled subject, text and HTML templates under templates/mail
+    @Autowired
+    private MailTemplateService mailTemplateService;
+
+    // Signed approve/reject links for the manager emails
+    @Autowired
+    private DecisionLinkService decisionLinkService;
 
 
-    // Method to send a basic email
+    // Method to queue a basic email; it joins the caller's transaction and is delivered by EmailOutboxDispatcher
+    @Transactional
     public void sendEmail(String to, String subject, String text) {
-        SimpleMailMessage message = new SimpleMailMessage();
-        message.setTo(to); // Set recipient email address
-        message.setSubject(subject);
-        message.setText(text);
-        try {
-            mailSender.send(message);
-        }catch (Exception e) {
-            throw new RuntimeException("Error sending email",e);
-        }
+        sendEmail(to, subject, text, null);
+    }
+
+    // Same as above with an HTML alternative; the dispatcher sends both parts as multipart/alternative
+    @Transactional
+    public void sendEmail(String to, String subject, String text, String html) {
+        LocalDateTime now = LocalDateTime.now();
+        EmailOutbox email = new EmailOutbox();
+        email.setRecipient(to); // Set recipient email address
+        email.setSubject(subject);
+        email.setBody(text);
+        email.setHtmlBody(html);
+        email.setStatus(EmailOutbox.OutboxStatus.PENDING);
+        email.setAttempts(0);
+        email.setCreatedAt(now);
+        email.setNextAttemptAt(now);
+        emailOutboxRepo.save(email);
     }
 
     // Method to send an email to the manager when an employee submits a leave request
     public void sendLeaveRequestEmail(String managerEmail,LeaveRequest leaveRequest) {
-        String subject = "Leave Approval Request from "+leaveRequest.getLastName()+" "+leaveRequest.getFirstName();
-        String body="Hi Sir/Madam,\n\n"+
-                leaveRequest.getLastName()+" "+leaveRequest.getFirstName()+" has requested "+leaveRequest.getLeaveType()+" leave.\n"+
-                "Details:\n"+
-                "Employee Id: "+leaveRequest.getEmployeeId()+"\n"+
-                "Employee Email: "+leaveRequest.getEmail()+"\n"+
-                "Phone: "+leaveRequest.getPhone()+"\n"+
-                "Position: "+leaveRequest.getPosition()+"\n"+
-                "Leave Type: "+leaveRequest.getLeaveType()+"\n"+
-                "Start Date: "+leaveRequest.getLeaveStartDate()+"\n"+
-                "End Date: "+leaveRequest.getLeaveEndDate()+"\n"+
-                "Duration: "+leaveRequest.getDuration()+" Days"+"\n"+
-                "Comments: "+(leaveRequest.getComments()!=null ? leaveRequest.getComments():"N/A")+"\n\n"+
-                "Please click one of the options below:\n"+
-                "[Approve Leave](http://localhost:8080/leave/approve/"+leaveRequest.getId()+")\n"+
-                "[Reject Leave](http://localhost:8080/leave/reject/"+leaveRequest.getId()+")\n\n"+
-                "Regards,\n"+
-                leaveRequest.getLastName()+" "+leaveRequest.getFirstName();
-
         // Send the email to the manager
-        sendEmail(managerEmail, subject, body);
+        send(managerEmail, renderLeaveRequestEmail(leaveRequest));
+    }
+
+    // Renders the manager email without touching the outbox so it can be benchmarked
+    public MailTemplateService.RenderedMail renderLeaveRequestEmail(LeaveRequest leaveRequest) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("leave", leaveRequest);
+        model.put("comments", leaveRequest.getComments() != null ? leaveRequest.getComments() : "N/A");
+        model.put("approveUrl", decisionLinkService.link(leaveRequest.getId(), DecisionLinkService.Action.APPROVE));
+        model.put("rejectUrl", decisionLinkService.link(leaveRequest.getId(), DecisionLinkService.Action.REJECT));
+        return mailTemplateService.render("leave-request", model);
+    }
+
+    // Method to send one email listing several pending requests of a manager, each with its approve/reject links
+    public void sendManagerDigest(String managerEmail, List<LeaveRequest> leaveRequests) {
+        List<DigestItem> items = new ArrayList<>(leaveRequests.size());
+        for (LeaveRequest leaveRequest : leaveRequests) {
+            items.add(new DigestItem(leaveRequest,
+                    decisionLinkService.link(leaveRequest.getId(), DecisionLinkService.Action.APPROVE),
+                    decisionLinkService.link(leaveRequest.getId(), DecisionLinkService.Action.REJECT)));
+        }
+        Map<String, Object> model = new HashMap<>();
+        model.put("items", items);
+        model.put("count", leaveRequests.size());
+        model.put("managerName", leaveRequests.get(0).getManagerName());
+        send(managerEmail, mailTemplateService.render("manager-digest", model));
     }
 
     // Method to send an email to the employee after a leave request has been approved
     public void sendResponseToEmployee(LeaveRequest.LeaveStatus leaveStatus,LeaveRequest leaveRequest) {
-        String subject = "Leave request "+leaveStatus.name();
-        String body="Hi "+leaveRequest.getLastName()+" "+leaveRequest.getFirstName()+",\n\n"+
-                "Your leave request from "+leaveRequest.getLeaveStartDate()+" to "+leaveRequest.getLeaveEndDate()+
-                " has been "+leaveStatus.name()+".\n\nRegards,\n\n Manager";
-        sendEmail(leaveRequest.getEmail(), subject, body);
+        send(leaveRequest.getEmail(), mailTemplateService.render("leave-response", statusModel(leaveStatus, leaveRequest)));
     }
 
     // Method to send an email to the employee after a leave request has been rejected
     public void sendApprovalNotification(LeaveRequest.LeaveStatus leaveStatus,LeaveRequest leaveRequest) {
 
-        // Set email subject with approval/rejection status
-        String subject = "Leave approval request "+leaveStatus.name();
-        String body="Dear "+leaveRequest.getLastName()+" "+leaveRequest.getFirstName()+",\n\n"+
-                "Your leave request has been "+leaveStatus.name().toLowerCase()+".\n\n"+
-                "Reason: "+leaveRequest.getLeaveReason()+"\n\n"+
-                "If You have any questions, please contact Manager.\n\n"+
-                "Regards,\n\n Manager";
+        // Send the email to the employee, with approval/rejection status in the subject
+        send(leaveRequest.getEmail(), mailTemplateService.render("leave-decision", statusModel(leaveStatus, leaveRequest)));
+    }
+
+    private Map<String, Object> statusModel(LeaveRequest.LeaveStatus leaveStatus, LeaveRequest leaveRequest) {
+        Map<String, Object> model = new HashMap<>();
+        model.put("leave", leaveRequest);
+        model.put("status", leaveStatus.name());
+        model.put("statusLower", leaveStatus.name().toLowerCase());
+        return model;
+    }
+
+    private void send(String to, MailTemplateService.RenderedMail mail) {
+        sendEmail(to, mail.subject(), mail.text(), mail.html());
+    }
 
-        // Send the email to the employee
-        sendEmail(leaveRequest.getEmail(), subject, body);
+    // One row of the manager digest
+    public record DigestItem(LeaveRequest leave, String approveUrl, String rejectUrl) {
     }
 }
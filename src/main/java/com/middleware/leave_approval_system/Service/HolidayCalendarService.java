@@ -0,0 +1,129 @@
+package com.middleware.leave_approval_system.Service;
+
+import com.middleware.leave_approval_system.Entity.Holiday;
+import com.middleware.leave_approval_system.Event.HolidaysReloadedEvent;
+import com.middleware.leave_approval_system.Exception.ResourceNotFoundException;
+import com.middleware.leave_approval_system.Repository.HolidayRepo;
+import com.middleware.leave_approval_system.Util.HolidaySet;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Holiday calendar per region. Each (region, year) is loaded once from the holiday table plus the
+// recurring national holidays and kept as an immutable HolidaySet until reload() is called.
+@Service
+public class HolidayCalendarService {
+
+    public static final int MIN_YEAR = 1900;
+    public static final int MAX_YEAR = 2199;
+
+    @Autowired
+    private HolidayRepo holidayRepo;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${holidays.default-region:IN}")
+    private String defaultRegion;
+
+    // Month-day pairs (MM-dd) that are holidays in every region and every year
+    @Value("${holidays.national:01-26,08-15,10-02,12-25}")
+    private String nationalHolidays;
+
+    private List<MonthDay> recurringHolidays;
+
+    private final Map<String, AtomicReferenceArray<HolidaySet>> regions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        List<MonthDay> parsed = new ArrayList<>();
+        for (String monthDay : nationalHolidays.split(",")) {
+            if (!monthDay.isBlank()) {
+                parsed.add(MonthDay.parse("--" + monthDay.trim()));
+            }
+        }
+        recurringHolidays = List.copyOf(parsed);
+    }
+
+    public String getDefaultRegion() {
+        return defaultRegion;
+    }
+
+    public boolean isHoliday(LocalDate date) {
+        return isHoliday(defaultRegion, date);
+    }
+
+    public boolean isHoliday(String region, LocalDate date) {
+        return getHolidays(region, date.getYear()).containsDayOfYear(date.getDayOfYear());
+    }
+
+    // Method to return the cached holidays of a region and year, loading them on first use
+    public HolidaySet getHolidays(String region, int year) {
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            throw new ResourceNotFoundException("Leave dates must fall between the years " + MIN_YEAR + " and " + MAX_YEAR + ".");
+        }
+        AtomicReferenceArray<HolidaySet> years = regions.computeIfAbsent(region, key -> new AtomicReferenceArray<>(MAX_YEAR - MIN_YEAR + 1));
+        int index = year - MIN_YEAR;
+        HolidaySet holidays = years.get(index);
+        if (holidays == null) {
+            years.compareAndSet(index, null, load(region, year));
+            holidays = years.get(index);
+        }
+        return holidays;
+    }
+
+    // Method to add a region-specific holiday and refresh that region once the insert has committed,
+    // so a reader cannot cache the region from the old rows and a rolled back insert never shows up
+    @Transactional
+    public Holiday addHoliday(Holiday holiday) {
+        if (holiday.getRegion() == null || holiday.getHolidayDate() == null) {
+            throw new ResourceNotFoundException("Holiday region and date must be provided.");
+        }
+        Holiday saved = holidayRepo.save(holiday);
+        String region = holiday.getRegion();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                reload(region);
+            }
+        });
+        return saved;
+    }
+
+    // Method to discard every cached region so holidays are read again on next use
+    public void reload() {
+        regions.clear();
+        eventPublisher.publishEvent(new HolidaysReloadedEvent(null));
+    }
+
+    public void reload(String region) {
+        regions.remove(region);
+        eventPublisher.publishEvent(new HolidaysReloadedEvent(region));
+    }
+
+    private HolidaySet load(String region, int year) {
+        List<LocalDate> dates = new ArrayList<>();
+        for (MonthDay monthDay : recurringHolidays) {
+            if (monthDay.isValidYear(year)) {
+                dates.add(monthDay.atYear(year));
+            }
+        }
+        for (Holiday holiday : holidayRepo.findByRegionAndHolidayDateBetween(region, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31))) {
+            dates.add(holiday.getHolidayDate());
+        }
+        return HolidaySet.of(year, dates);
+    }
+}
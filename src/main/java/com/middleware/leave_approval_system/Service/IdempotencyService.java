@@ -0,0 +1,96 @@
+package com.middleware.leave_approval_system.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.function.Supplier;
+
+// Bounded, expiring store of Idempotency-Key results. The first request with a key runs; a retry with the same
+// key gets the stored response back without touching the database, and a retry that arrives while the first
+// is still running gets 409. Only successful responses are kept, so a failed attempt can be retried.
+// The store is per application instance.
+@Service
+public class IdempotencyService {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${leave.idempotency.max-keys:100000}")
+    private long maxKeys;
+
+    @Value("${leave.idempotency.ttl-hours:24}")
+    private long ttlHours;
+
+    private Cache<String, Entry> cache;
+
+    private Counter replays;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterWrite(Duration.ofHours(ttlHours))
+                .build();
+        replays = Counter.builder("leave.idempotency.replays").register(meterRegistry);
+    }
+
+    // Method to run the action once per (scope, key). The fingerprint identifies the request payload;
+    // reusing a key for a different payload is answered with 422.
+    public ResponseEntity<?> execute(String scope, String key, String fingerprint, Supplier<ResponseEntity<?>> action) {
+        String cacheKey = scope + ":" + key;
+        Entry claim = new Entry(fingerprint, null);
+        Map<String, Entry> entries = cache.asMap();
+        Entry existing = entries.putIfAbsent(cacheKey, claim);
+        if (existing != null) {
+            return replay(existing, fingerprint);
+        }
+
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            entries.remove(cacheKey, claim);
+            throw e;
+        }
+        if (response.getStatusCode().is2xxSuccessful()) {
+            entries.replace(cacheKey, claim, new Entry(fingerprint, response));
+        } else {
+            entries.remove(cacheKey, claim);
+        }
+        return response;
+    }
+
+    private ResponseEntity<?> replay(Entry existing, String fingerprint) {
+        if (!existing.fingerprint().equals(fingerprint)) {
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY)
+                    .body(IDEMPOTENCY_KEY_HEADER + " was already used for a different request.");
+        }
+        if (existing.response() == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed.");
+        }
+        replays.increment();
+        ResponseEntity<?> stored = existing.response();
+        return ResponseEntity.status(stored.getStatusCode())
+                .headers(stored.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(stored.getBody());
+    }
+
+    // response is null while the first request is still running
+    private record Entry(String fingerprint, ResponseEntity<?> response) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.middleware.leave_approval_system.Service;
+
+import com.middleware.leave_approval_system.Entity.LeaveBalance;
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import com.middleware.leave_approval_system.Exception.ResourceNotFoundException;
+import com.middleware.leave_approval_system.Repository.LeaveBalanceRepo;
+import com.middleware.leave_approval_system.Repository.LeaveRequestRepo;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+// Keeps the leave_balance ledger in step with leave requests. Every method locks the
+// (employeeId, leaveType, year) row, so concurrent submits for the same balance are serialized.
+@Service
+public class LeaveBalanceService {
+
+    private static final String INSERT_IF_ABSENT =
+            "INSERT INTO leave_balance (employee_id, leave_type, balance_year, used_days) VALUES (?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE id = id";
+
+    @Autowired
+    private LeaveBalanceRepo leaveBalanceRepo;
+
+    @Autowired
+    private LeaveRequestRepo leaveRequestRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Method to book the request's duration against the ledger, failing if it would exceed maxDays
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(LeaveRequest leaveRequest, int maxDays) {
+        // A seed taken now must not count the request being booked, which may already be flushed (update)
+        LeaveBalance balance = lockBalance(leaveRequest, leaveRequest.getId());
+        double requestedDays = durationOf(leaveRequest);
+        if (balance.getUsedDays() + requestedDays > maxDays) {
+            throw new ResourceNotFoundException("You have exhausted your " + leaveRequest.getLeaveType().name().toLowerCase() + " leave limit of " + maxDays + " days.");
+        }
+        balance.setUsedDays(balance.getUsedDays() + requestedDays);
+    }
+
+    // Method to give the request's duration back to the ledger (reject, delete, or before an update)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(LeaveRequest leaveRequest) {
+        LeaveBalance balance = lockBalance(leaveRequest, null);
+        balance.setUsedDays(Math.max(0, balance.getUsedDays() - durationOf(leaveRequest)));
+    }
+
+    // Method to release many requests at once (bulk rejection). Every affected row is created and locked up front,
+    // in key order so concurrent bulk calls cannot deadlock, and then adjusted in memory. No query runs after the
+    // caller starts changing entities, so its updates and inserts reach the database as JDBC batches at commit.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void releaseAll(Collection<LeaveRequest> leaveRequests) {
+        Map<BalanceKey, Double> releasedDays = new TreeMap<>();
+        for (LeaveRequest leaveRequest : leaveRequests) {
+            releasedDays.merge(BalanceKey.of(leaveRequest), durationOf(leaveRequest), Double::sum);
+        }
+        for (Map.Entry<BalanceKey, Double> entry : releasedDays.entrySet()) {
+            LeaveBalance balance = lockBalance(entry.getKey(), null);
+            balance.setUsedDays(Math.max(0, balance.getUsedDays() - entry.getValue()));
+        }
+    }
+
+    private LeaveBalance lockBalance(LeaveRequest leaveRequest, Long excludedId) {
+        return lockBalance(BalanceKey.of(leaveRequest), excludedId);
+    }
+
+    // The common case is one locked single-row lookup. A missing row is created before any locking read of it:
+    // on InnoDB a locking read of a missing row takes a gap lock, which would make a later insert wait on it.
+    private LeaveBalance lockBalance(BalanceKey key, Long excludedId) {
+        String employeeId = key.employeeId();
+        LeaveRequest.LeaveType leaveType = key.leaveType();
+        int year = key.year();
+        Optional<LeaveBalance> balance = leaveBalanceRepo.existsByEmployeeIdAndLeaveTypeAndBalanceYear(employeeId, leaveType, year)
+                ? leaveBalanceRepo.findForUpdate(employeeId, leaveType, year)
+                : Optional.empty();
+        if (balance.isEmpty()) {
+            createBalanceIfAbsent(employeeId, leaveType, year, excludedId);
+            balance = leaveBalanceRepo.findForUpdate(employeeId, leaveType, year);
+        }
+        return balance.orElseThrow(() -> new ResourceNotFoundException("Leave balance not found for employee: " + employeeId));
+    }
+
+    // Method to create a missing ledger row in the caller's transaction, seeded from the employee's leave history.
+    // An existing row is left alone; a concurrent insert of the same row waits on the unique key instead of failing.
+    private void createBalanceIfAbsent(String employeeId, LeaveRequest.LeaveType leaveType, int year, Long excludedId) {
+        Double usedDays = leaveRequestRepository.sumDurationByEmployeeIdAndLeaveTypeAndStartDateBetween(
+                employeeId, leaveType, LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31), LeaveRequest.LeaveStatus.REJECTED, excludedId);
+        jdbcTemplate.update(INSERT_IF_ABSENT, employeeId, leaveType.name(), year, usedDays != null ? usedDays : 0);
+    }
+
+    private double durationOf(LeaveRequest leaveRequest) {
+        return leaveRequest.getDuration() != null ? leaveRequest.getDuration() : 0;
+    }
+
+    // One leave_balance row; ordered so rows are always locked in the same sequence
+    private record BalanceKey(String employeeId, LeaveRequest.LeaveType leaveType, int year) implements Comparable<BalanceKey> {
+        private static final Comparator<BalanceKey> ORDER = Comparator
+                .comparing(BalanceKey::employeeId, Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(BalanceKey::leaveType)
+                .thenComparingInt(BalanceKey::year);
+
+        private static BalanceKey of(LeaveRequest leaveRequest) {
+            return new BalanceKey(leaveRequest.getEmployeeId(), leaveRequest.getLeaveType(), leaveRequest.getLeaveStartDate().getYear());
+        }
+
+        @Override
+        public int compareTo(BalanceKey other) {
+            return ORDER.compare(this, other);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package com.middleware.leave_approval_system.Service;
+
+import com.middleware.leave_approval_system.Dto.LeaveEventMessage;
+import com.middleware.leave_approval_system.Event.LeaveRequestChangedEvent;
+import com.middleware.leave_approval_system.Event.LeaveSnapshot;
+import com.middleware.leave_approval_system.Exception.LeaveConflictException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Server-Sent Events for leave changes, one stream per manager or employee subscription.
+// Committed LeaveRequestChangedEvents are queued per subscriber and written by a drain task on a small pool of
+// its own (leave.events.sender-threads), so a slow client never holds up the committing request thread and
+// stalled connections cannot take threads from MVC async handling. A subscriber whose queue fills up loses the
+// queued events and gets a single "resync" event telling it to reload its lists; one whose write has been
+// blocked for longer than leave.events.send-timeout-ms is dropped. Heartbeat comments keep idle connections
+// open through proxies and detect clients that have gone away.
+@Component
+public class LeaveEventStream {
+
+    public static final String RESYNC_EVENT = "resync";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Stream lifetime; EventSource clients reconnect on their own when it ends
+    @Value("${leave.events.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${leave.events.queue-size:100}")
+    private int queueSize;
+
+    @Value("${leave.events.max-subscribers:10000}")
+    private int maxSubscribers;
+
+    @Value("${leave.events.sender-threads:8}")
+    private int senderThreads;
+
+    @Value("${leave.events.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    private final Map<String, Set<Subscriber>> managers = new ConcurrentHashMap<>();
+    private final Map<String, Set<Subscriber>> employees = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private Counter resyncs;
+
+    private Counter stalled;
+
+    // Each subscriber has at most one drain task queued or running, so the queue never needs more than maxSubscribers
+    private ThreadPoolExecutor sender;
+
+    @PostConstruct
+    public void init() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        sender = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(maxSubscribers),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "leave-events-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        sender.allowCoreThreadTimeOut(true);
+        Gauge.builder("leave.events.subscribers", subscriberCount, AtomicInteger::get).register(meterRegistry);
+        resyncs = Counter.builder("leave.events.resyncs")
+                .description("Subscribers that fell behind and were told to reload")
+                .register(meterRegistry);
+        stalled = Counter.builder("leave.events.stalled")
+                .description("Subscribers dropped because a write to them blocked for too long")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+
+    public SseEmitter subscribeManager(String managerId) {
+        return subscribe(managers, managerId);
+    }
+
+    public SseEmitter subscribeEmployee(String employeeId) {
+        return subscribe(employees, employeeId);
+    }
+
+    private SseEmitter subscribe(Map<String, Set<Subscriber>> subscriptions, String key) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new LeaveConflictException("Too many open event streams, try again later.");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, subscriptions, key);
+        subscriptions.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(subscriber::remove);
+        emitter.onTimeout(subscriber::remove);
+        emitter.onError(error -> subscriber.remove());
+        // Flushes the response headers so the client sees the stream open straight away
+        subscriber.offer(SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    // Pushes committed changes to the subscribers of the request's manager and employee, old and new
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLeaveRequestChanged(LeaveRequestChangedEvent event) {
+        if (event.current() == null || subscriberCount.get() == 0) {
+            return;
+        }
+        Set<Subscriber> recipients = new LinkedHashSet<>();
+        collect(recipients, event.before());
+        collect(recipients, event.after());
+        if (recipients.isEmpty()) {
+            return;
+        }
+        LeaveEventMessage message = LeaveEventMessage.of(event);
+        for (Subscriber subscriber : recipients) {
+            subscriber.offer(SseEmitter.event()
+                    .name(event.changeType().name().toLowerCase())
+                    .id(String.valueOf(message.id()))
+                    .data(message));
+        }
+    }
+
+    // Also drops subscribers stuck in a write, which frees their slot and stops events being queued for them
+    @Scheduled(fixedDelayString = "${leave.events.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        long deadline = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (Map<String, Set<Subscriber>> subscriptions : List.of(managers, employees)) {
+            for (Set<Subscriber> subscribers : subscriptions.values()) {
+                for (Subscriber subscriber : subscribers) {
+                    if (subscriber.isStalledSince(deadline)) {
+                        stalled.increment();
+                        subscriber.abort();
+                    } else {
+                        subscriber.offer(SseEmitter.event().comment("heartbeat"));
+                    }
+                }
+            }
+        }
+    }
+
+    private void collect(Set<Subscriber> recipients, LeaveSnapshot snapshot) {
+        if (snapshot == null) {
+            return;
+        }
+        if (snapshot.managerId() != null) {
+            recipients.addAll(managers.getOrDefault(snapshot.managerId(), Set.of()));
+        }
+        if (snapshot.employeeId() != null) {
+            recipients.addAll(employees.getOrDefault(snapshot.employeeId(), Set.of()));
+        }
+    }
+
+    // One open stream. Events are queued under the instance lock; at most one drain task writes to the emitter at a time.
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Map<String, Set<Subscriber>> subscriptions;
+        private final String key;
+        private final ArrayDeque<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+        // Start of the write in progress (System.nanoTime) and the thread doing it; sendThread is null between writes
+        private volatile long sendStartedAt;
+        private volatile Thread sendThread;
+
+        private Subscriber(SseEmitter emitter, Map<String, Set<Subscriber>> subscriptions, String key) {
+            this.emitter = emitter;
+            this.subscriptions = subscriptions;
+            this.key = key;
+        }
+
+        // Unsubscribes and counts the subscriber out, once
+        private void remove() {
+            if (close()) {
+                subscriberCount.decrementAndGet();
+                subscriptions.computeIfPresent(key, (k, set) -> {
+                    set.remove(this);
+                    return set.isEmpty() ? null : set;
+                });
+            }
+        }
+
+        private boolean isStalledSince(long deadline) {
+            return sendThread != null && sendStartedAt - deadline < 0;
+        }
+
+        // Drops a subscriber whose write is stuck. The emitter cannot be completed while that write holds it,
+        // so the sending thread is interrupted and otherwise freed by the connector's write timeout.
+        private void abort() {
+            remove();
+            Thread thread = sendThread;
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+
+        private void offer(SseEmitter.SseEventBuilder event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (queue.size() >= queueSize) {
+                    queue.clear();
+                    queue.add(SseEmitter.event().name(RESYNC_EVENT).data("Events were dropped, reload the leave lists."));
+                    resyncs.increment();
+                } else {
+                    queue.add(event);
+                }
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                remove();
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder event;
+                synchronized (this) {
+                    event = queue.poll();
+                    if (event == null || closed) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    sendStartedAt = System.nanoTime();
+                    sendThread = Thread.currentThread();
+                    try {
+                        emitter.send(event);
+                    } finally {
+                        sendThread = null;
+                        Thread.interrupted();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // Client gone or stream already completed; onError/onCompletion remove the subscriber
+                    emitter.completeWithError(e);
+                    synchronized (this) {
+                        queue.clear();
+                        draining = false;
+                    }
+                    return;
+                }
+            }
+        }
+
+        // Returns true only for the first call, so the subscriber is counted out once
+        private synchronized boolean close() {
+            if (closed) {
+                return false;
+            }
+            closed = true;
+            queue.clear();
+            return true;
+        }
+    }
+}
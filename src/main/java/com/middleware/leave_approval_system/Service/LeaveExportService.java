@@ -0,0 +1,225 @@
+package com.middleware.leave_approval_system.Service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.middleware.leave_approval_system.Dto.LeaveRequestFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streams leave requests straight from a forward-only JDBC cursor to the client.
+// Rows are written as they are read, so nothing accumulates on the heap or in a persistence context.
+@Service
+public class LeaveExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveExportService.class);
+
+    // Column name in leave_request -> field name in the export
+    private static final String[][] COLUMNS = {
+            {"id", "id"},
+            {"employee_id", "employeeId"},
+            {"first_name", "firstName"},
+            {"last_name", "lastName"},
+            {"email", "email"},
+            {"position", "position"},
+            {"phone", "phone"},
+            {"manager_id", "managerId"},
+            {"manager_name", "managerName"},
+            {"manager_email", "managerEmail"},
+            {"leave_start_date", "leaveStartDate"},
+            {"leave_end_date", "leaveEndDate"},
+            {"leave_reason", "leaveReason"},
+            {"leave_type", "leaveType"},
+            {"duration", "duration"},
+            {"duration_type", "durationType"},
+            {"comments", "comments"},
+            {"medical_document", "medicalDocument"},
+            {"leave_status", "leaveStatus"}
+    };
+
+    public enum Format {
+        NDJSON,
+        CSV
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Rows fetched per round trip; Integer.MIN_VALUE makes MySQL Connector/J stream row by row
+    @Value("${leave.export.fetch-size:-2147483648}")
+    private int fetchSize;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    // Method to write every leave request matching the filter to the output stream, ordered by id
+    @Transactional(readOnly = true)
+    public void export(LeaveRequestFilter filter, Format format, OutputStream outputStream) throws IOException {
+        List<Object> parameters = new ArrayList<>();
+        String sql = buildQuery(filter, parameters);
+        RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(outputStream) : new NdjsonRowWriter(outputStream);
+        long[] rows = {0};
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(fetchSize);
+                for (int i = 0; i < parameters.size(); i++) {
+                    statement.setObject(i + 1, parameters.get(i));
+                }
+                return statement;
+            }, (RowCallbackHandler) resultSet -> {
+                try {
+                    rowWriter.write(resultSet);
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Client went away mid-stream; stop reading rows
+            throw e.getCause();
+        }
+        rowWriter.finish();
+        log.info("Exported {} leave requests as {}", rows[0], format);
+    }
+
+    private String buildQuery(LeaveRequestFilter filter, List<Object> parameters) {
+        StringBuilder sql = new StringBuilder("SELECT ");
+        for (int i = 0; i < COLUMNS.length; i++) {
+            sql.append(i == 0 ? "" : ", ").append(COLUMNS[i][0]);
+        }
+        sql.append(" FROM leave_request WHERE 1 = 1");
+        if (filter.getEmployeeId() != null) {
+            sql.append(" AND employee_id = ?");
+            parameters.add(filter.getEmployeeId());
+        }
+        if (filter.getManagerId() != null) {
+            sql.append(" AND manager_id = ?");
+            parameters.add(filter.getManagerId());
+        }
+        if (filter.getLeaveStatus() != null) {
+            sql.append(" AND leave_status = ?");
+            parameters.add(filter.getLeaveStatus().name());
+        }
+        if (filter.getLeaveType() != null) {
+            sql.append(" AND leave_type = ?");
+            parameters.add(filter.getLeaveType().name());
+        }
+        if (filter.getFrom() != null) {
+            sql.append(" AND leave_end_date >= ?");
+            parameters.add(Date.valueOf(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            sql.append(" AND leave_start_date <= ?");
+            parameters.add(Date.valueOf(filter.getTo()));
+        }
+        return sql.append(" ORDER BY id").toString();
+    }
+
+    private interface RowWriter {
+        void write(ResultSet resultSet) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    // One JSON object per line
+    private class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(OutputStream outputStream) throws IOException {
+            generator = jsonFactory.createGenerator(outputStream, JsonEncoding.UTF8);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ResultSet resultSet) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < COLUMNS.length; i++) {
+                Object value = resultSet.getObject(i + 1);
+                if (value == null) {
+                    generator.writeNullField(COLUMNS[i][1]);
+                } else if (value instanceof Number number) {
+                    generator.writeFieldName(COLUMNS[i][1]);
+                    generator.writeNumber(number.toString());
+                } else {
+                    generator.writeStringField(COLUMNS[i][1], value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    // RFC 4180 CSV with a header row
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream outputStream) throws IOException {
+            writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(COLUMNS[i][1]);
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet resultSet) throws SQLException, IOException {
+            for (int i = 0; i < COLUMNS.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                String value = resultSet.getString(i + 1);
+                if (value != null) {
+                    writeEscaped(value);
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        private void writeEscaped(String value) throws IOException {
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.middleware.leave_approval_system.Service;
+
+import com.middleware.leave_approval_system.Dto.LeaveImportError;
+import com.middleware.leave_approval_system.Dto.LeaveImportResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+// Command-line import, for files too large to upload:
+//   java -jar leave_approval_system.jar --import.file=history.csv \
+//       --spring.main.web-application-type=none --spring.jpa.show-sql=false
+// --import.file may be repeated. The application exits when the import is done, with status 1 if any row failed.
+@Component
+public class LeaveImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveImportRunner.class);
+
+    @Autowired
+    private LeaveImportService leaveImportService;
+
+    @Autowired
+    private ConfigurableApplicationContext context;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        List<String> files = args.getOptionValues("import.file");
+        if (files == null || files.isEmpty()) {
+            return;
+        }
+        long failed = 0;
+        for (String file : files) {
+            LeaveImportResult result;
+            try (InputStream inputStream = Files.newInputStream(Path.of(file))) {
+                result = leaveImportService.importCsv(inputStream);
+            }
+            log.info("{}: {} rows, {} imported, {} failed", file, result.rows(), result.imported(), result.failed());
+            for (LeaveImportError error : result.errors()) {
+                log.warn("{} line {}: {}", file, error.line(), error.message());
+            }
+            if (result.errorsTruncated()) {
+                log.warn("{}: only the first {} errors are listed", file, result.errors().size());
+            }
+            failed += result.failed();
+        }
+        int exitCode = failed > 0 ? 1 : 0;
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+}
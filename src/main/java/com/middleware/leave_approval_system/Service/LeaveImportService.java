@@ -0,0 +1,280 @@
+package com.middleware.leave_approval_system.Service;
+
+import com.middleware.leave_approval_system.Dto.LeaveImportError;
+import com.middleware.leave_approval_system.Dto.LeaveImportResult;
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import com.middleware.leave_approval_system.Event.LeaveDataImportedEvent;
+import com.middleware.leave_approval_system.Exception.ResourceNotFoundException;
+import com.middleware.leave_approval_system.Util.CsvReader;
+import com.middleware.leave_approval_system.Util.BusinessCalendar;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.PersistenceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Bulk import of historical leave records from CSV with the columns of /leave/export?format=csv (id is ignored,
+// unknown columns are skipped). The file is parsed as a stream in chunks of leave.import.chunk-size rows; each chunk
+// is validated in parallel and inserted in one transaction as JDBC batches (table-generated ids, hibernate.jdbc.batch_size);
+// a chunk the database refuses is bisected until the offending rows are found.
+// Imported rows send no emails and publish no per-request events: the rollups are updated per chunk, ledger rows of
+// the affected employee/type/years are dropped so they re-seed from history, the overlap lock rows of the employees are
+// bumped so other instances reload them, and LeaveDataImportedEvent clears caches.
+// Balance and overlap rules are not applied to history.
+@Service
+public class LeaveImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveImportService.class);
+
+    private static final String[] REQUIRED_COLUMNS = {"employeeId", "leaveStartDate", "leaveEndDate", "leaveType"};
+
+    private static final String DELETE_BALANCE = "DELETE FROM leave_balance WHERE employee_id = ? AND leave_type = ? AND balance_year = ?";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BusinessCalendar businessCalendar;
+
+    @Autowired
+    private LeaveUsageRollupService leaveUsageRollupService;
+
+    @Autowired
+    private LeaveOverlapIndex leaveOverlapIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${leave.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${leave.import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Counter importedRows;
+    private Counter failedRows;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        importedRows = Counter.builder("leave.import.rows").tag("result", "imported").register(meterRegistry);
+        failedRows = Counter.builder("leave.import.rows").tag("result", "failed").register(meterRegistry);
+    }
+
+    // Method to import every row of the CSV; a bad row is reported and skipped, the rest are imported
+    public LeaveImportResult importCsv(InputStream inputStream) throws IOException {
+        CsvReader reader = new CsvReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new ResourceNotFoundException("The CSV file is empty.");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new ResourceNotFoundException("Missing CSV column: " + column);
+            }
+        }
+
+        Report report = new Report();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        List<String> fields;
+        while ((fields = reader.next()) != null) {
+            if (fields.size() == 1 && fields.get(0).isBlank()) {
+                continue;
+            }
+            chunk.add(new Row(reader.recordLine(), fields));
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, columns, report);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, columns, report);
+        }
+
+        if (report.imported > 0) {
+            eventPublisher.publishEvent(new LeaveDataImportedEvent(report.imported));
+        }
+        log.info("Imported {} of {} leave records, {} failed", report.imported, report.rows, report.failed);
+        return new LeaveImportResult(report.rows, report.imported, report.failed, report.errors, report.failed > report.errors.size());
+    }
+
+    private void importChunk(List<Row> rows, Map<String, Integer> columns, Report report) {
+        // Rows are independent, so parsing and business-day counting run in parallel; persisting stays on this thread
+        List<Parsed> parsed = rows.parallelStream().map(row -> parse(row, columns)).toList();
+        List<Parsed> valid = new ArrayList<>(parsed.size());
+        for (Parsed row : parsed) {
+            if (row.error() != null) {
+                report.fail(row.line(), row.error());
+            } else {
+                valid.add(row);
+            }
+        }
+        report.rows += rows.size();
+        if (valid.isEmpty()) {
+            return;
+        }
+        insert(valid, report);
+    }
+
+    // Inserts the rows in one transaction. If that fails, the rows are split in halves and each half is retried in
+    // its own transaction, so a bad row costs about log2(chunk-size) extra transactions and only rows that fail on
+    // their own are reported, with the database's reason.
+    private void insert(List<Parsed> rows, Report report) {
+        List<LeaveRequest> leaveRequests = rows.stream().map(Parsed::leaveRequest).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(leaveRequests));
+        } catch (DataAccessException | PersistenceException e) {
+            // Rolled back: the ids and versions assigned by persist are gone with it
+            for (LeaveRequest leaveRequest : leaveRequests) {
+                leaveRequest.setId(null);
+                leaveRequest.setVersion(null);
+            }
+            if (rows.size() == 1) {
+                report.fail(rows.get(0).line(), "Not imported: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                return;
+            }
+            int middle = rows.size() / 2;
+            insert(rows.subList(0, middle), report);
+            insert(rows.subList(middle, rows.size()), report);
+            return;
+        }
+        report.imported += leaveRequests.size();
+        importedRows.increment(leaveRequests.size());
+    }
+
+    private void persist(List<LeaveRequest> leaveRequests) {
+        Set<List<Object>> balances = new LinkedHashSet<>();
+        for (LeaveRequest leaveRequest : leaveRequests) {
+            entityManager.persist(leaveRequest);
+            balances.add(List.of(leaveRequest.getEmployeeId(), leaveRequest.getLeaveType().name(), leaveRequest.getLeaveStartDate().getYear()));
+        }
+        // Sends the inserts as JDBC batches, then lets go of the entities so memory stays flat across chunks
+        entityManager.flush();
+        entityManager.clear();
+        leaveUsageRollupService.recordImported(leaveRequests);
+        jdbcTemplate.batchUpdate(DELETE_BALANCE, balances.stream().map(List::toArray).toList());
+        leaveOverlapIndex.markChanged(leaveRequests.stream().map(LeaveRequest::getEmployeeId).toList());
+    }
+
+    private Parsed parse(Row row, Map<String, Integer> columns) {
+        try {
+            LeaveRequest leaveRequest = new LeaveRequest();
+            leaveRequest.setEmployeeId(required(row, columns, "employeeId"));
+            leaveRequest.setFirstName(value(row, columns, "firstName"));
+            leaveRequest.setLastName(value(row, columns, "lastName"));
+            leaveRequest.setEmail(value(row, columns, "email"));
+            leaveRequest.setPosition(value(row, columns, "position"));
+            leaveRequest.setPhone(value(row, columns, "phone"));
+            leaveRequest.setManagerId(value(row, columns, "managerId"));
+            leaveRequest.setManagerName(value(row, columns, "managerName"));
+            leaveRequest.setManagerEmail(value(row, columns, "managerEmail"));
+            leaveRequest.setLeaveStartDate(date(row, columns, "leaveStartDate"));
+            leaveRequest.setLeaveEndDate(date(row, columns, "leaveEndDate"));
+            leaveRequest.setLeaveReason(value(row, columns, "leaveReason"));
+            leaveRequest.setLeaveType(LeaveRequest.LeaveType.valueOf(required(row, columns, "leaveType").toUpperCase()));
+            leaveRequest.setComments(value(row, columns, "comments"));
+            leaveRequest.setMedicalDocument(value(row, columns, "medicalDocument"));
+            // History without a status is taken as approved
+            String status = value(row, columns, "leaveStatus");
+            leaveRequest.setLeaveStatus(status != null ? LeaveRequest.LeaveStatus.valueOf(status.toUpperCase()) : LeaveRequest.LeaveStatus.APPROVED);
+
+            // Keep a recorded duration; otherwise count business days like a submit does (also checks the dates)
+            String duration = value(row, columns, "duration");
+            if (duration != null) {
+                if (leaveRequest.getLeaveEndDate().isBefore(leaveRequest.getLeaveStartDate())) {
+                    throw new ResourceNotFoundException("Leave end date cannot be before the start date.");
+                }
+                leaveRequest.setDuration(Double.parseDouble(duration));
+                String durationType = value(row, columns, "durationType");
+                leaveRequest.setDurationType(durationType != null ? durationType : "Days");
+            } else {
+                leaveRequest.calculateDuration(businessCalendar);
+            }
+            return new Parsed(row.line(), leaveRequest, null);
+        } catch (IllegalArgumentException | DateTimeParseException | ResourceNotFoundException e) {
+            return new Parsed(row.line(), null, e.getMessage());
+        }
+    }
+
+    private static String value(Row row, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= row.fields().size()) {
+            return null;
+        }
+        String value = row.fields().get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static String required(Row row, Map<String, Integer> columns, String column) {
+        String value = value(row, columns, column);
+        if (value == null) {
+            throw new ResourceNotFoundException(column + " must be provided.");
+        }
+        return value;
+    }
+
+    private static LocalDate date(Row row, Map<String, Integer> columns, String column) {
+        return LocalDate.parse(required(row, columns, column));
+    }
+
+    private record Row(long line, List<String> fields) {
+    }
+
+    private record Parsed(long line, LeaveRequest leaveRequest, String error) {
+    }
+
+    private final class Report {
+        private long rows;
+        private long imported;
+        private long failed;
+        private final List<LeaveImportError> errors = new ArrayList<>();
+
+        private void fail(long line, String message) {
+            failed++;
+            failedRows.increment();
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new LeaveImportError(line, message));
+            }
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.middleware.leave_approval_system.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.middleware.leave_approval_system.Dto.LeaveInterval;
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import com.middleware.leave_approval_system.Event.LeaveDataImportedEvent;
+import com.middleware.leave_approval_system.Event.LeaveRequestChangedEvent;
+import com.middleware.leave_approval_system.Event.LeaveSnapshot;
+import com.middleware.leave_approval_system.Exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Per-employee index of the dates of non-rejected leaves, so overlap checks on submit and update
+// mostly need no leave_request query. reserve() locks the employee's employee_leave_lock row, which serializes
+// an employee's checks across instances, and bumps its version; cached dates are only trusted when they are at the
+// version the row had before, otherwise they are reloaded with a locking (current) read. Writes that only take dates
+// away (reject, delete) do not bump the version: a cached overlap is confirmed against the database before refusing.
+@Component
+public class LeaveOverlapIndex {
+
+    private static final Comparator<LeaveInterval> BY_START =
+            Comparator.comparing(LeaveInterval::leaveStartDate).thenComparing(LeaveInterval::id);
+
+    private static final String LOCK = "INSERT INTO employee_leave_lock (employee_id, version) VALUES (?, 1) " +
+            "ON DUPLICATE KEY UPDATE version = version + 1";
+    private static final String VERSION = "SELECT version FROM employee_leave_lock WHERE employee_id = ?";
+    private static final String BUMP = "UPDATE employee_leave_lock SET version = version + 1 WHERE employee_id = ?";
+    private static final String LOAD = "SELECT id, leave_start_date, leave_end_date FROM leave_request " +
+            "WHERE employee_id = ? AND leave_status <> 'REJECTED' FOR UPDATE";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${leave.overlap-index.max-employees:100000}")
+    private long maxEmployees;
+
+    @Value("${leave.overlap-index.idle-minutes:60}")
+    private long idleMinutes;
+
+    private Cache<String, EmployeeLeaves> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxEmployees)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .build();
+        Gauge.builder("leave.overlap.index.employees", cache, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    // Method to check a saved leave against the employee's other non-rejected leaves and record its dates.
+    // Must run in the transaction that saved it, which holds the employee's lock row until it ends; if that
+    // transaction rolls back, the employee is reloaded on next use.
+    // Rejected leaves are not checked and take no dates; any dates held for the leave are dropped.
+    public void reserve(LeaveRequest leaveRequest) {
+        String employeeId = leaveRequest.getEmployeeId();
+        if (leaveRequest.getLeaveStatus() == LeaveRequest.LeaveStatus.REJECTED) {
+            remove(employeeId, leaveRequest.getId());
+            return;
+        }
+        long version = lock(employeeId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        cache.invalidate(employeeId);
+                    }
+                }
+            });
+        }
+        LeaveInterval interval = new LeaveInterval(leaveRequest.getId(), leaveRequest.getLeaveStartDate(), leaveRequest.getLeaveEndDate());
+        EmployeeLeaves leaves = cache.getIfPresent(employeeId);
+        boolean loaded = false;
+        if (leaves == null || !leaves.isAt(version - 1)) {
+            leaves = load(employeeId, version - 1);
+            loaded = true;
+        }
+        if (leaves.overlaps(interval) && !loaded) {
+            // The cached dates may still hold a leave rejected or deleted on another instance
+            leaves = load(employeeId, version - 1);
+        }
+        if (leaves.overlaps(interval)) {
+            throw new ResourceNotFoundException("You have already applied for overlapping leaves.");
+        }
+        leaves.put(interval, version);
+    }
+
+    // Imports add dates without reserve(); bumping the lock rows makes every instance reload these employees.
+    // Must run in the importing transaction. Employees that never reserved have no row and nothing cached.
+    public void markChanged(Collection<String> employeeIds) {
+        List<Object[]> args = employeeIds.stream().distinct().sorted().map(employeeId -> new Object[]{employeeId}).toList();
+        jdbcTemplate.batchUpdate(BUMP, args);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    // Imports bypass the change events, so start over from the database
+    @EventListener
+    public void onLeaveDataImported(LeaveDataImportedEvent event) {
+        invalidateAll();
+    }
+
+    // Keeps the index in step with changes committed by any writer; puts from reserve() are repeated harmlessly
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLeaveRequestChanged(LeaveRequestChangedEvent event) {
+        LeaveSnapshot before = event.before();
+        LeaveSnapshot after = event.after();
+        if (before != null && (after == null || !before.employeeId().equals(after.employeeId()))) {
+            remove(before.employeeId(), before.id());
+        }
+        if (after != null) {
+            if (after.leaveStatus() == LeaveRequest.LeaveStatus.REJECTED) {
+                remove(after.employeeId(), after.id());
+            } else {
+                EmployeeLeaves leaves = cache.getIfPresent(after.employeeId());
+                if (leaves != null) {
+                    leaves.put(new LeaveInterval(after.id(), after.leaveStartDate(), after.leaveEndDate()));
+                }
+            }
+        }
+    }
+
+    private void remove(String employeeId, Long id) {
+        EmployeeLeaves leaves = cache.getIfPresent(employeeId);
+        if (leaves != null) {
+            leaves.remove(id);
+        }
+    }
+
+    // Takes the employee's lock row (creating it on first use) and returns its new version
+    private long lock(String employeeId) {
+        jdbcTemplate.update(LOCK, employeeId);
+        return jdbcTemplate.queryForObject(VERSION, Long.class, employeeId);
+    }
+
+    // Current read under the employee lock, so leaves committed by other instances after this transaction's
+    // snapshot are seen too
+    private EmployeeLeaves load(String employeeId, long version) {
+        EmployeeLeaves leaves = new EmployeeLeaves(version);
+        jdbcTemplate.query(LOAD, rs -> {
+            leaves.put(new LeaveInterval(rs.getLong("id"), rs.getObject("leave_start_date", LocalDate.class),
+                    rs.getObject("leave_end_date", LocalDate.class)));
+        }, employeeId);
+        cache.put(employeeId, leaves);
+        return leaves;
+    }
+
+    // Intervals ordered by start date. Overlap lookups scan only starts in [start - longest span, end],
+    // which is a single entry or none once the data has no overlaps. version is the lock row version the
+    // dates reflect; commit events from this instance update the dates without changing it.
+    private static final class EmployeeLeaves {
+        private final TreeSet<LeaveInterval> byStart = new TreeSet<>(BY_START);
+        private final Map<Long, LeaveInterval> byId = new HashMap<>();
+        // Never shrinks on removal, which only widens the scan window
+        private long longestSpanDays;
+        private long version;
+
+        private EmployeeLeaves(long version) {
+            this.version = version;
+        }
+
+        private synchronized boolean isAt(long version) {
+            return this.version == version;
+        }
+
+        private synchronized boolean overlaps(LeaveInterval candidate) {
+            LocalDate start = candidate.leaveStartDate();
+            LocalDate end = candidate.leaveEndDate();
+            LeaveInterval from = new LeaveInterval(Long.MIN_VALUE, start.minusDays(longestSpanDays), null);
+            LeaveInterval to = new LeaveInterval(Long.MAX_VALUE, end, null);
+            for (LeaveInterval existing : byStart.subSet(from, true, to, true)) {
+                if (!existing.id().equals(candidate.id()) && !existing.leaveEndDate().isBefore(start)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private synchronized void put(LeaveInterval interval, long version) {
+            put(interval);
+            this.version = version;
+        }
+
+        private synchronized void put(LeaveInterval interval) {
+            if (interval.id() == null || interval.leaveStartDate() == null || interval.leaveEndDate() == null) {
+                return;
+            }
+            remove(interval.id());
+            byStart.add(interval);
+            byId.put(interval.id(), interval);
+            longestSpanDays = Math.max(longestSpanDays, interval.leaveEndDate().toEpochDay() - interval.leaveStartDate().toEpochDay());
+        }
+
+        private synchronized void remove(Long id) {
+            LeaveInterval previous = byId.remove(id);
+            if (previous != null) {
+                byStart.remove(previous);
+            }
+        }
+    }
+}
@@ -1,6 +1,11 @@
 package com.middleware.leave_approval_system.Service;
 
 
+import com.middleware.leave_approval_system.Dto.LeaveDecision;
+import com.middleware.leave_approval_system.Dto.LeaveDecisionResult;
+import com.middleware.leave_approval_system.Dto.LeavePage;
+import com.middleware.leave_approval_system.Dto.LeaveRequestSummary;
+import com.middleware.leave_approval_system.Dto.LeaveRequestFilter;
 import com.middleware.leave_approval_system.Entity.LeaveRequest;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -13,13 +18,16 @@ public interface LeaveRequestService {
     LeaveRequest submitLeaveRequest(LeaveRequest leaveRequest);
     LeaveRequest approveLeaveRequest(Long id);
     LeaveRequest rejectLeaveRequest(Long id, String leaveReason);
-    List<LeaveRequest> getAllLeaveRequests();
-    List<LeaveRequest> getLeaveRequestsByStatus(String managerId,LeaveRequest.LeaveStatus leaveStatus);
-    List<LeaveRequest> getAllPendingLeaveRequestsEmployee(String employeeId);
-    List<LeaveRequest> getAllApprovedLeaveRequestsEmployee(String employeeId);
-    List<LeaveRequest> getAllRejectedLeaveRequestsEmployee(String employeeId);
-    List<LeaveRequest> getAllManagerId(String managerId);
-    List<LeaveRequest> getAllEmployeeId(String employeeId);
+    List<LeaveDecisionResult> decideLeaveRequests(List<LeaveDecision> decisions);
+    LeaveRequest getLeaveRequestById(Long id);
+    LeavePage<LeaveRequestSummary> getAllLeaveRequests(Long cursor, Integer size);
+    LeavePage<LeaveRequestSummary> getLeaveRequestsByStatus(String managerId,LeaveRequest.LeaveStatus leaveStatus, Long cursor, Integer size);
+    LeavePage<LeaveRequestSummary> getAllPendingLeaveRequestsEmployee(String employeeId, Long cursor, Integer size);
+    LeavePage<LeaveRequestSummary> getAllApprovedLeaveRequestsEmployee(String employeeId, Long cursor, Integer size);
+    LeavePage<LeaveRequestSummary> getAllRejectedLeaveRequestsEmployee(String employeeId, Long cursor, Integer size);
+    LeavePage<LeaveRequestSummary> getAllManagerId(String managerId, Long cursor, Integer size);
+    LeavePage<LeaveRequestSummary> getAllEmployeeId(String employeeId, Long cursor, Integer size);
+    LeavePage<LeaveRequestSummary> searchLeaveRequests(LeaveRequestFilter filter, Long cursor, Integer size);
     LeaveRequest updateLeaveRequest(Long id, LeaveRequest leaveRequest);
     String deleteLeaveRequest(Long id);
     
@@ -1,18 +1,35 @@
 package com.middleware.leave_approval_system.Service;
 
 
+import com.middleware.leave_approval_system.Config.ReplicaRoutingDataSource;
+import com.middleware.leave_approval_system.Dto.LeaveDecision;
+import com.middleware.leave_approval_system.Dto.LeaveDecisionResult;
+import com.middleware.leave_approval_system.Dto.LeavePage;
+import com.middleware.leave_approval_system.Dto.LeaveRequestSummary;
+import com.middleware.leave_approval_system.Dto.LeaveRequestFilter;
 import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import com.middleware.leave_approval_system.Event.LeaveRequestChangedEvent;
+import com.middleware.leave_approval_system.Event.LeaveSnapshot;
+import com.middleware.leave_approval_system.Exception.LeaveConflictException;
 import com.middleware.leave_approval_system.Exception.ResourceNotFoundException;
 import com.middleware.leave_approval_system.Repository.LeaveRequestRepo;
-import com.middleware.leave_approval_system.Util.HolidaysUtil;
+import com.middleware.leave_approval_system.Util.BusinessCalendar;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 
 @Service
@@ -25,10 +42,49 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
     @Value("${file.upload-dir}")
     private String uploadDir;
 
+    // Page size used by list endpoints when the client does not ask for one, and the upper bound it may ask for
+    @Value("${leave.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${leave.page.max-size:200}")
+    private int maxPageSize;
+
+    // Largest number of decisions accepted by one bulk approve/reject call
+    @Value("${leave.bulk.max-items:500}")
+    private int maxBulkItems;
+
     // Injecting LeaveRequestRepo for database operations
     @Autowired
     private LeaveRequestRepo leaveRequestRepository;
 
+    // Injecting LeaveBalanceService for the per-employee balance ledger
+    @Autowired
+    private LeaveBalanceService leaveBalanceService;
+
+    // Injecting BusinessCalendar for business-day calculations
+    @Autowired
+    private BusinessCalendar businessCalendar;
+
+    // Injecting ManagerInboxCache for the manager dashboard lists
+    @Autowired
+    private ManagerInboxCache managerInboxCache;
+
+    // Injecting LeaveOverlapIndex for overlap checks against cached dates under a per-employee lock row
+    @Autowired
+    private LeaveOverlapIndex leaveOverlapIndex;
+
+    // Injecting TeamAvailabilityIndex for the concurrent absence limit
+    @Autowired
+    private TeamAvailabilityIndex teamAvailabilityIndex;
+
+    // Injecting ManagerDigestService, which mails the manager now or in the next digest
+    @Autowired
+    private ManagerDigestService managerDigestService;
+
+    // Publishes LeaveRequestChangedEvent for caches and other listeners
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Defining maximum allowable leave limits for each leave type
     private static final int MAX_SICK_LEAVES = 6;
     private static final int MAX_VACATION_LEAVES = 4;
@@ -39,46 +95,46 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
     private static final int MAX_OTHER_LEAVES = 2;
 
 
+    @Transactional
     public LeaveRequest submitLeaveRequest(LeaveRequest leaveRequest) {
 
-        // Validate if overlapping leaves exist if the status is REJECTED
-        if (leaveRequest.getLeaveStatus() == LeaveRequest.LeaveStatus.REJECTED) {
-            List<LeaveRequest> overlappingLeaves = leaveRequestRepository.findOverlappingLeaves(
-                    leaveRequest.getEmployeeId(), leaveRequest.getLeaveStartDate(), leaveRequest.getLeaveEndDate()
-            );
-            if (!overlappingLeaves.isEmpty()) {
-                throw new ResourceNotFoundException("You have already applied for overlapping leaves.");
-            }
-        }
-
         // Check if leave start and end dates are provided
         if (leaveRequest.getLeaveStartDate() == null || leaveRequest.getLeaveEndDate() == null) {
             throw new ResourceNotFoundException("Leave start date and end date must be provided.");
         }
 
-        // Validate leave balance based on the leave type
-        validateLeaveBalance(leaveRequest);
-
         // Set status to PENDING and calculate leave duration
         leaveRequest.setLeaveStatus(LeaveRequest.LeaveStatus.PENDING);
-        int year = leaveRequest.getLeaveStartDate().getYear();
-        List<LocalDate> nationalHolidays = HolidaysUtil.getNationalHolidays(year);
-        leaveRequest.calculateDuration(nationalHolidays);
+        leaveRequest.calculateDuration(businessCalendar);
+
+        // Validate leave balance based on the leave type and book the duration in the ledger
+        validateLeaveBalance(leaveRequest);
 
-        // Save the leave request and send an email notification to the manager
+        // Refuse the request if the team is already at its concurrent absence limit on one of its days
+        teamAvailabilityIndex.checkCapacity(leaveRequest);
+
+        // Save the leave request, reject it if it overlaps another non-rejected leave of the employee,
+        // and queue the manager notification (an email or a digest item) in the same transaction
         LeaveRequest savedRequest = leaveRequestRepository.save(leaveRequest);
-        emailService.sendLeaveRequestEmail(leaveRequest.getManagerEmail(), leaveRequest);
+        leaveOverlapIndex.reserve(savedRequest);
+        managerDigestService.notifyManager(savedRequest);
+        publishChange(LeaveRequestChangedEvent.ChangeType.SUBMITTED, null, savedRequest);
         return savedRequest;
     }
 
 
-    // Method to validate if the employee has remaining leave balance for the requested type
+    // Method to validate if the employee has remaining leave balance for the requested type.
+    // The check is a single locked ledger row, and a successful check books the request's duration.
     public void validateLeaveBalance(LeaveRequest leaveRequest) {
-//        long leaveCount = leaveRequestRepository.countByEmployeeIdAndLeaveType(leaveRequest.getEmployeeId(), leaveRequest.getLeaveType());
-        Integer totalLeaveDaysTaken = leaveRequestRepository.getTotalLeaveDaysByEmployeeIdAndLeaveType(leaveRequest.getEmployeeId(), leaveRequest.getLeaveType()).orElse(0);
+        if (leaveRequest.getLeaveType() == null) {
+            throw new ResourceNotFoundException("Invalid leave type.");
+        }
+        leaveBalanceService.reserve(leaveRequest, getMaxLeaves(leaveRequest.getLeaveType()));
+    }
 
-        // Determine the max leaves based on the leave type
-        int maxLeaves = switch (leaveRequest.getLeaveType()) {
+    // Method to determine the max leaves based on the leave type
+    private int getMaxLeaves(LeaveRequest.LeaveType leaveType) {
+        return switch (leaveType) {
             case SICK -> MAX_SICK_LEAVES;
             case VACATION -> MAX_VACATION_LEAVES;
             case CASUAL -> MAX_CASUAL_LEAVES;
@@ -88,13 +144,6 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
             case OTHERS -> MAX_OTHER_LEAVES;
             default -> throw new ResourceNotFoundException("Invalid leave type.");
         };
-
-        double requestedLeaveDays = leaveRequest.calculateBusinessDays(leaveRequest.getLeaveStartDate(), leaveRequest.getLeaveEndDate(), HolidaysUtil.getNationalHolidays(leaveRequest.getLeaveStartDate().getYear()));
-
-        if (totalLeaveDaysTaken + requestedLeaveDays > maxLeaves) {
-            throw new ResourceNotFoundException("You have exhausted your " + leaveRequest.getLeaveType().name().toLowerCase() + " leave limit of " + maxLeaves + " days.");
-        }
-
     }
 
     private LeaveRequest getLeaveBalance(String employeeId, LeaveRequest.LeaveType leaveType) {
@@ -105,29 +154,113 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
 
     // Method to approve a leave request
     @Override
+    @Transactional
     public LeaveRequest approveLeaveRequest(Long id) {
 
         // Fetch leave request by ID and update status to APPROVED
         LeaveRequest leaveRequest = leaveRequestRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Leave Request Id Not Found"));
+        if (leaveRequest.getLeaveStatus() != LeaveRequest.LeaveStatus.PENDING) {
+            throw new LeaveConflictException("Leave request is already " + leaveRequest.getLeaveStatus());
+        }
+        LeaveSnapshot before = LeaveSnapshot.of(leaveRequest);
         leaveRequest.setLeaveStatus(LeaveRequest.LeaveStatus.APPROVED);
         leaveRequestRepository.save(leaveRequest);
         emailService.sendResponseToEmployee(leaveRequest.getLeaveStatus(), leaveRequest);
+        publishChange(LeaveRequestChangedEvent.ChangeType.APPROVED, before, leaveRequest);
         return leaveRequest;
     }
 
 
     // Method to reject a leave request and provide a reason
     @Override
+    @Transactional
     public LeaveRequest rejectLeaveRequest(Long id, String leaveReason) {
         LeaveRequest leaveRequest = leaveRequestRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Leave Request Id Not Found"));
+        if (leaveRequest.getLeaveStatus() == LeaveRequest.LeaveStatus.REJECTED) {
+            throw new LeaveConflictException("Leave request is already REJECTED");
+        }
+        LeaveSnapshot before = LeaveSnapshot.of(leaveRequest);
+        leaveBalanceService.release(leaveRequest);
         leaveRequest.setLeaveStatus(LeaveRequest.LeaveStatus.REJECTED);
         leaveRequest.setLeaveReason(leaveReason);
         leaveRequestRepository.save(leaveRequest);
         emailService.sendApprovalNotification(leaveRequest.getLeaveStatus(), leaveRequest);
+        publishChange(LeaveRequestChangedEvent.ChangeType.REJECTED, before, leaveRequest);
         return leaveRequest;
     }
 
-    // Method to retrieve a leave request by ID
+    // Method to approve or reject many leave requests in one transaction.
+    // All requests are loaded with one query and the balances of the rejections are locked before anything changes,
+    // so the status updates, ledger updates and outbox inserts are flushed as JDBC batches at commit.
+    @Override
+    @Transactional
+    public List<LeaveDecisionResult> decideLeaveRequests(List<LeaveDecision> decisions) {
+        if (decisions == null || decisions.isEmpty()) {
+            throw new ResourceNotFoundException("At least one leave decision must be provided.");
+        }
+        if (decisions.size() > maxBulkItems) {
+            throw new ResourceNotFoundException("At most " + maxBulkItems + " leave decisions can be submitted at once.");
+        }
+
+        Set<Long> ids = new HashSet<>();
+        for (LeaveDecision decision : decisions) {
+            if (decision.getId() != null) {
+                ids.add(decision.getId());
+            }
+        }
+        Map<Long, LeaveRequest> leaveRequests = leaveRequestRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(LeaveRequest::getId, Function.identity()));
+
+        // The first valid decision for a pending request is the one applied; later ones find it decided
+        List<LeaveRequest> rejections = new ArrayList<>();
+        Set<Long> decided = new HashSet<>();
+        for (LeaveDecision decision : decisions) {
+            LeaveRequest leaveRequest = leaveRequests.get(decision.getId());
+            if (decision.getDecision() != null && leaveRequest != null
+                    && leaveRequest.getLeaveStatus() == LeaveRequest.LeaveStatus.PENDING && decided.add(leaveRequest.getId())
+                    && decision.getDecision() == LeaveDecision.Decision.REJECT) {
+                rejections.add(leaveRequest);
+            }
+        }
+        leaveBalanceService.releaseAll(rejections);
+
+        List<LeaveDecisionResult> results = new ArrayList<>(decisions.size());
+        for (LeaveDecision decision : decisions) {
+            results.add(applyDecision(decision, leaveRequests.get(decision.getId())));
+        }
+        return results;
+    }
+
+    private LeaveDecisionResult applyDecision(LeaveDecision decision, LeaveRequest leaveRequest) {
+        Long id = decision.getId();
+        if (decision.getDecision() == null) {
+            return new LeaveDecisionResult(id, LeaveDecisionResult.Outcome.INVALID, "Decision must be APPROVE or REJECT");
+        }
+        if (leaveRequest == null) {
+            return new LeaveDecisionResult(id, LeaveDecisionResult.Outcome.NOT_FOUND, "Leave Request Id Not Found");
+        }
+        if (leaveRequest.getLeaveStatus() != LeaveRequest.LeaveStatus.PENDING) {
+            return new LeaveDecisionResult(id, LeaveDecisionResult.Outcome.NOT_PENDING, "Leave request is already " + leaveRequest.getLeaveStatus());
+        }
+
+        LeaveSnapshot before = LeaveSnapshot.of(leaveRequest);
+        if (decision.getDecision() == LeaveDecision.Decision.APPROVE) {
+            leaveRequest.setLeaveStatus(LeaveRequest.LeaveStatus.APPROVED);
+            emailService.sendResponseToEmployee(leaveRequest.getLeaveStatus(), leaveRequest);
+            publishChange(LeaveRequestChangedEvent.ChangeType.APPROVED, before, leaveRequest);
+            return new LeaveDecisionResult(id, LeaveDecisionResult.Outcome.APPROVED, "Leave Request Approved");
+        }
+        // The booked days were already released by decideLeaveRequests
+        leaveRequest.setLeaveStatus(LeaveRequest.LeaveStatus.REJECTED);
+        leaveRequest.setLeaveReason(decision.getReason());
+        emailService.sendApprovalNotification(leaveRequest.getLeaveStatus(), leaveRequest);
+        publishChange(LeaveRequestChangedEvent.ChangeType.REJECTED, before, leaveRequest);
+        return new LeaveDecisionResult(id, LeaveDecisionResult.Outcome.REJECTED, "Leave Request Rejected with Reason: " + decision.getReason());
+    }
+
+    // Method to retrieve a leave request by ID; the only read that loads the full entity
+    @Override
+    @Transactional(readOnly = true)
     public LeaveRequest getLeaveRequestById(Long id) {
         Optional<LeaveRequest> leaveRequest = leaveRequestRepository.findById(id);
         if (!leaveRequest.isPresent()) {
@@ -137,18 +270,20 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
     }
 
 
-    // Method to retrieve all leave requests
+    // Method to retrieve all leave requests, one page at a time
     @Override
-    public List<LeaveRequest> getAllLeaveRequests() {
-        return leaveRequestRepository.findAll();
+    @Transactional(readOnly = true)
+    public LeavePage<LeaveRequestSummary> getAllLeaveRequests(Long cursor, Integer size) {
+        return searchLeaveRequests(new LeaveRequestFilter(), cursor, size);
     }
 
 
     // Method to retrieve leave requests by manager ID and status
     @Override
-    public List<LeaveRequest> getLeaveRequestsByStatus(String managerId, LeaveRequest.LeaveStatus leaveStatus) {
-        List<LeaveRequest> leaveRequests = leaveRequestRepository.findByManagerIdAndLeaveStatus(managerId, leaveStatus);
-        if (leaveRequests.isEmpty()) {
+    @Transactional(readOnly = true)
+    public LeavePage<LeaveRequestSummary> getLeaveRequestsByStatus(String managerId, LeaveRequest.LeaveStatus leaveStatus, Long cursor, Integer size) {
+        LeavePage<LeaveRequestSummary> leaveRequests = managerInboxPage(managerId, leaveStatus, cursor, size);
+        if (cursor == null && leaveRequests.getItems().isEmpty()) {
             throw new ResourceNotFoundException("No " + leaveStatus.name().toLowerCase() + " leave requests found for manager ID: " + managerId);
         }
         return leaveRequests;
@@ -157,9 +292,10 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
 
     // Method to retrieve all pending leave requests for an employee
     @Override
-    public List<LeaveRequest> getAllPendingLeaveRequestsEmployee(String employeeId) {
-        List<LeaveRequest> pendingRequests = leaveRequestRepository.findByEmployeeIdAndLeaveStatus(employeeId, LeaveRequest.LeaveStatus.PENDING);
-        if (pendingRequests.isEmpty()) {
+    @Transactional(readOnly = true)
+    public LeavePage<LeaveRequestSummary> getAllPendingLeaveRequestsEmployee(String employeeId, Long cursor, Integer size) {
+        LeavePage<LeaveRequestSummary> pendingRequests = searchLeaveRequests(LeaveRequestFilter.forEmployee(employeeId, LeaveRequest.LeaveStatus.PENDING), cursor, size);
+        if (cursor == null && pendingRequests.getItems().isEmpty()) {
             throw new ResourceNotFoundException("No pending leave requests found for employeeID: " + employeeId);
         }
         return pendingRequests;
@@ -167,9 +303,10 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
 
     // Method to retrieve all approved leave requests for an employee
     @Override
-    public List<LeaveRequest> getAllApprovedLeaveRequestsEmployee(String employeeId) {
-        List<LeaveRequest> approvedRequests = leaveRequestRepository.findByEmployeeIdAndLeaveStatus(employeeId, LeaveRequest.LeaveStatus.APPROVED);
-        if (approvedRequests.isEmpty()) {
+    @Transactional(readOnly = true)
+    public LeavePage<LeaveRequestSummary> getAllApprovedLeaveRequestsEmployee(String employeeId, Long cursor, Integer size) {
+        LeavePage<LeaveRequestSummary> approvedRequests = searchLeaveRequests(LeaveRequestFilter.forEmployee(employeeId, LeaveRequest.LeaveStatus.APPROVED), cursor, size);
+        if (cursor == null && approvedRequests.getItems().isEmpty()) {
             throw new ResourceNotFoundException("No approved leave requests for employeeID: " + employeeId);
         }
         return approvedRequests;
@@ -177,9 +314,10 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
 
     // Method to retrieve all rejected leave requests for an employee
     @Override
-    public List<LeaveRequest> getAllRejectedLeaveRequestsEmployee(String employeeId) {
-        List<LeaveRequest> rejectRequests = leaveRequestRepository.findByEmployeeIdAndLeaveStatus(employeeId, LeaveRequest.LeaveStatus.REJECTED);
-        if (rejectRequests.isEmpty()) {
+    @Transactional(readOnly = true)
+    public LeavePage<LeaveRequestSummary> getAllRejectedLeaveRequestsEmployee(String employeeId, Long cursor, Integer size) {
+        LeavePage<LeaveRequestSummary> rejectRequests = searchLeaveRequests(LeaveRequestFilter.forEmployee(employeeId, LeaveRequest.LeaveStatus.REJECTED), cursor, size);
+        if (cursor == null && rejectRequests.getItems().isEmpty()) {
             throw new ResourceNotFoundException("No rejected leave requests for employeeID: " + employeeId);
         }
         return rejectRequests;
@@ -188,9 +326,10 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
 
     // Method to retrieve all leave requests by manager ID
     @Override
-    public List<LeaveRequest> getAllManagerId(String managerId) {
-        List<LeaveRequest> leaveRequests = leaveRequestRepository.findByManagerId(managerId);
-        if (leaveRequests.isEmpty()) {
+    @Transactional(readOnly = true)
+    public LeavePage<LeaveRequestSummary> getAllManagerId(String managerId, Long cursor, Integer size) {
+        LeavePage<LeaveRequestSummary> leaveRequests = managerInboxPage(managerId, null, cursor, size);
+        if (cursor == null && leaveRequests.getItems().isEmpty()) {
             throw new ResourceNotFoundException("No leave requests found for manager ID: " + managerId);
         }
         return leaveRequests;
@@ -199,16 +338,42 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
 
     // Method to retrieve all leave requests by employee ID
     @Override
-    public List<LeaveRequest> getAllEmployeeId(String employeeId) {
-        List<LeaveRequest> leaveRequests = leaveRequestRepository.findByEmployeeId(employeeId);
-        if (leaveRequests.isEmpty()) {
+    @Transactional(readOnly = true)
+    public LeavePage<LeaveRequestSummary> getAllEmployeeId(String employeeId, Long cursor, Integer size) {
+        LeavePage<LeaveRequestSummary> leaveRequests = searchLeaveRequests(LeaveRequestFilter.forEmployee(employeeId, null), cursor, size);
+        if (cursor == null && leaveRequests.getItems().isEmpty()) {
             throw new ResourceNotFoundException("No leave requests found for employeeID: " + employeeId);
         }
         return leaveRequests;
     }
 
+    // Method to serve the first default-sized page of a manager's list from the inbox cache
+    private LeavePage<LeaveRequestSummary> managerInboxPage(String managerId, LeaveRequest.LeaveStatus leaveStatus, Long cursor, Integer size) {
+        LeaveRequestFilter filter = LeaveRequestFilter.forManager(managerId, leaveStatus);
+        if (cursor != null || size != null) {
+            return searchLeaveRequests(filter, cursor, size);
+        }
+        // Loaded from the primary: a lagging replica could refill the cache with a page from before the change that just evicted it
+        return managerInboxCache.get(managerId, leaveStatus, () -> ReplicaRoutingDataSource.onPrimary(() -> searchLeaveRequests(filter, null, null)));
+    }
+
+    // Method to retrieve one page of leave requests matching the filter, newest first.
+    // Keyset pagination on id: the cursor is the last id of the previous page.
+    @Override
+    @Transactional(readOnly = true)
+    public LeavePage<LeaveRequestSummary> searchLeaveRequests(LeaveRequestFilter filter, Long cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        List<LeaveRequestSummary> rows = leaveRequestRepository.findSummaryPage(filter, cursor, pageSize + 1);
+        if (rows.size() <= pageSize) {
+            return new LeavePage<>(rows, null);
+        }
+        List<LeaveRequestSummary> items = rows.subList(0, pageSize);
+        return new LeavePage<>(items, items.get(pageSize - 1).id());
+    }
+
     // Method to update an existing leave request
     @Override
+    @Transactional
     public LeaveRequest updateLeaveRequest(Long id, LeaveRequest leaveRequest) {
         LeaveRequest existingLeaveRequest = leaveRequestRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Leave request not found for ID: " + id));
         if (existingLeaveRequest.getLeaveStatus() != LeaveRequest.LeaveStatus.PENDING) {
@@ -218,21 +383,37 @@ public class LeaveRequestServiceImpl implements LeaveRequestService {
             throw new ResourceNotFoundException("Leave start and end dates must be valid and cannot be in the past.");
         }
 
+        // Move the booked days from the old dates/type to the new ones
+        LeaveSnapshot before = LeaveSnapshot.of(existingLeaveRequest);
+        leaveBalanceService.release(existingLeaveRequest);
         existingLeaveRequest.setLeaveStartDate(leaveRequest.getLeaveStartDate());
         existingLeaveRequest.setLeaveEndDate(leaveRequest.getLeaveEndDate());
         existingLeaveRequest.setLeaveType(leaveRequest.getLeaveType());
-        return leaveRequestRepository.save(existingLeaveRequest);
+        existingLeaveRequest.calculateDuration(businessCalendar);
+        validateLeaveBalance(existingLeaveRequest);
+        teamAvailabilityIndex.checkCapacity(existingLeaveRequest);
+        LeaveRequest updatedRequest = leaveRequestRepository.save(existingLeaveRequest);
+        leaveOverlapIndex.reserve(updatedRequest);
+        publishChange(LeaveRequestChangedEvent.ChangeType.UPDATED, before, updatedRequest);
+        return updatedRequest;
     }
 
     // Method to delete an existing leave request
     @Override
+    @Transactional
     public String deleteLeaveRequest(Long id) {
         LeaveRequest deleteRequest = leaveRequestRepository.findById(id).orElseThrow(() -> new ResourceNotFoundException("Leave request not found for ID: " + id));
         if (deleteRequest.getLeaveStatus() != LeaveRequest.LeaveStatus.PENDING) {
             throw new ResourceNotFoundException("Only PENDING leave requests can be deleted.");
         }
+        leaveBalanceService.release(deleteRequest);
         leaveRequestRepository.delete(deleteRequest);
+        eventPublisher.publishEvent(new LeaveRequestChangedEvent(LeaveRequestChangedEvent.ChangeType.DELETED, LeaveSnapshot.of(deleteRequest), null));
         return "Leave request deleted successfully";
     }
 
+    private void publishChange(LeaveRequestChangedEvent.ChangeType changeType, LeaveSnapshot before, LeaveRequest after) {
+        eventPublisher.publishEvent(new LeaveRequestChangedEvent(changeType, before, LeaveSnapshot.of(after)));
+    }
+
 }
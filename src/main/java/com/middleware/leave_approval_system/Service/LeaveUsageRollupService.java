@@ -0,0 +1,195 @@
+package com.middleware.leave_approval_system.Service;
+
+import com.middleware.leave_approval_system.Dto.LeaveUsageRollup;
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import com.middleware.leave_approval_system.Event.LeaveRequestChangedEvent;
+import com.middleware.leave_approval_system.Event.LeaveSnapshot;
+import com.middleware.leave_approval_system.Exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Rollups of leave usage in leave_usage_rollup: request count and business days per manager, leave type,
+// status and month of the start date. Every change published by LeaveRequestServiceImpl moves the request
+// out of its old bucket and into its new one; the deltas of one transaction are merged and written just
+// before it commits, so the rollups commit or roll back with the change. rebuild() recomputes everything.
+@Service
+public class LeaveUsageRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaveUsageRollupService.class);
+
+    private static final String UPSERT = "INSERT INTO leave_usage_rollup " +
+            "(manager_id, leave_type, leave_status, usage_month, request_count, business_days) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE request_count = request_count + VALUES(request_count), " +
+            "business_days = business_days + VALUES(business_days)";
+
+    private static final String MONTH = "YEAR(leave_start_date) * 100 + MONTH(leave_start_date)";
+
+    private static final String REBUILD = "INSERT INTO leave_usage_rollup " +
+            "(manager_id, leave_type, leave_status, usage_month, request_count, business_days) " +
+            "SELECT COALESCE(manager_id, ''), leave_type, leave_status, " + MONTH + ", COUNT(*), COALESCE(SUM(duration), 0) " +
+            "FROM leave_request " +
+            "WHERE leave_type IS NOT NULL AND leave_status IS NOT NULL AND leave_start_date IS NOT NULL " +
+            "GROUP BY COALESCE(manager_id, ''), leave_type, leave_status, " + MONTH;
+
+    // Buckets are written in key order so concurrent transactions lock rollup rows in the same order
+    private static final Comparator<Bucket> BUCKET_ORDER = Comparator.comparing(Bucket::managerId)
+            .thenComparing(Bucket::leaveType)
+            .thenComparing(Bucket::leaveStatus)
+            .thenComparingInt(Bucket::month);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Method to list the rollup buckets matching the filters (null = any), ordered by month, manager, type and status
+    @Transactional(readOnly = true)
+    public List<LeaveUsageRollup> getUsage(String managerId, LeaveRequest.LeaveType leaveType, LeaveRequest.LeaveStatus leaveStatus,
+                                           YearMonth from, YearMonth to) {
+        if (from != null && to != null && to.isBefore(from)) {
+            throw new ResourceNotFoundException("The to month cannot be before the from month.");
+        }
+        StringBuilder sql = new StringBuilder("SELECT manager_id, leave_type, leave_status, usage_month, request_count, business_days " +
+                "FROM leave_usage_rollup WHERE request_count <> 0");
+        List<Object> params = new ArrayList<>();
+        if (managerId != null) {
+            sql.append(" AND manager_id = ?");
+            params.add(managerId);
+        }
+        if (leaveType != null) {
+            sql.append(" AND leave_type = ?");
+            params.add(leaveType.name());
+        }
+        if (leaveStatus != null) {
+            sql.append(" AND leave_status = ?");
+            params.add(leaveStatus.name());
+        }
+        if (from != null) {
+            sql.append(" AND usage_month >= ?");
+            params.add(monthKey(from));
+        }
+        if (to != null) {
+            sql.append(" AND usage_month <= ?");
+            params.add(monthKey(to));
+        }
+        sql.append(" ORDER BY usage_month, manager_id, leave_type, leave_status");
+        return jdbcTemplate.query(sql.toString(), (rs, rowNum) -> {
+            int month = rs.getInt("usage_month");
+            return new LeaveUsageRollup(rs.getString("manager_id"),
+                    LeaveRequest.LeaveType.valueOf(rs.getString("leave_type")),
+                    LeaveRequest.LeaveStatus.valueOf(rs.getString("leave_status")),
+                    YearMonth.of(month / 100, month % 100),
+                    rs.getLong("request_count"),
+                    rs.getDouble("business_days"));
+        }, params.toArray());
+    }
+
+    // Method to recompute all rollups from leave_request in one transaction; returns the number of buckets.
+    // Runs on analytics.rollup.rebuild-cron when that is set.
+    @Transactional
+    @Scheduled(cron = "${analytics.rollup.rebuild-cron:-}")
+    public int rebuild() {
+        jdbcTemplate.update("DELETE FROM leave_usage_rollup");
+        int buckets = jdbcTemplate.update(REBUILD);
+        log.info("Rebuilt leave usage rollups: {} buckets", buckets);
+        return buckets;
+    }
+
+    // Runs in the publishing transaction; the merged deltas are written from its beforeCommit callback
+    @EventListener
+    public void onLeaveRequestChanged(LeaveRequestChangedEvent event) {
+        Map<Bucket, Totals> deltas = transactionDeltas();
+        add(deltas, event.before(), -1);
+        add(deltas, event.after(), 1);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(deltas);
+        }
+    }
+
+    // Method to count imported requests into their buckets; like a change event, joins the importing transaction
+    public void recordImported(Collection<LeaveRequest> leaveRequests) {
+        Map<Bucket, Totals> deltas = transactionDeltas();
+        for (LeaveRequest leaveRequest : leaveRequests) {
+            add(deltas, LeaveSnapshot.of(leaveRequest), 1);
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write(deltas);
+        }
+    }
+
+    private Map<Bucket, Totals> transactionDeltas() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new TreeMap<>(BUCKET_ORDER);
+        }
+        @SuppressWarnings("unchecked")
+        Map<Bucket, Totals> deltas = (Map<Bucket, Totals>) TransactionSynchronizationManager.getResource(this);
+        if (deltas == null) {
+            Map<Bucket, Totals> created = new TreeMap<>(BUCKET_ORDER);
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    write(created);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(LeaveUsageRollupService.this);
+                }
+            });
+            deltas = created;
+        }
+        return deltas;
+    }
+
+    private void add(Map<Bucket, Totals> deltas, LeaveSnapshot snapshot, int sign) {
+        if (snapshot == null || snapshot.leaveType() == null || snapshot.leaveStatus() == null || snapshot.leaveStartDate() == null) {
+            return;
+        }
+        Bucket bucket = new Bucket(snapshot.managerId() != null ? snapshot.managerId() : "", snapshot.leaveType().name(),
+                snapshot.leaveStatus().name(), monthKey(YearMonth.from(snapshot.leaveStartDate())));
+        Totals totals = deltas.computeIfAbsent(bucket, key -> new Totals());
+        totals.requests += sign;
+        totals.businessDays += sign * (snapshot.duration() != null ? snapshot.duration() : 0.0);
+    }
+
+    private void write(Map<Bucket, Totals> deltas) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((bucket, totals) -> {
+            // A change that stays in its bucket with the same duration nets out to nothing
+            if (totals.requests != 0 || totals.businessDays != 0) {
+                rows.add(new Object[]{bucket.managerId(), bucket.leaveType(), bucket.leaveStatus(), bucket.month(),
+                        totals.requests, totals.businessDays});
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT, rows);
+        }
+    }
+
+    private static int monthKey(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    private record Bucket(String managerId, String leaveType, String leaveStatus, int month) {
+    }
+
+    private static final class Totals {
+        private long requests;
+        private double businessDays;
+    }
+}
@@ -0,0 +1,125 @@
+package com.middleware.leave_approval_system.Service;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Mail templates under classpath:templates/mail, compiled once at startup.
+// A mail named "x" is x.subject.mustache, x.txt.mustache and optionally x.html.mustache; values in
+// the HTML part are escaped. Rendering writes into pooled buffers so bursts of mail do not allocate a
+// fresh builder per part. Every model gets baseUrl (app.base-url) for building links.
+@Service
+public class MailTemplateService {
+
+    private static final String LOCATION = "classpath:templates/mail/*.mustache";
+    private static final int POOLED_BUFFERS = 64;
+    private static final int MAX_POOLED_CAPACITY = 64 * 1024;
+
+    @Value("${app.base-url:http://localhost:8085}")
+    private String baseUrl;
+
+    private final Map<String, Template> templates = new HashMap<>();
+
+    private final BlockingQueue<StringBuilder> buffers = new ArrayBlockingQueue<>(POOLED_BUFFERS);
+
+    // Rendered parts of one mail; html is null when the mail has no HTML template
+    public record RenderedMail(String subject, String text, String html) {
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Mustache.Compiler textCompiler = Mustache.compiler().escapeHTML(false).nullValue("");
+        Mustache.Compiler htmlCompiler = Mustache.compiler().escapeHTML(true).nullValue("");
+        for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+            String name = resource.getFilename();
+            try (Reader reader = new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8)) {
+                templates.put(name, (name.endsWith(".html.mustache") ? htmlCompiler : textCompiler).compile(reader));
+            }
+        }
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    // Method to render the subject, text and (if present) HTML parts of a mail
+    public RenderedMail render(String mailName, Map<String, Object> model) {
+        Template subject = template(mailName + ".subject.mustache");
+        Template text = template(mailName + ".txt.mustache");
+        Template html = templates.get(mailName + ".html.mustache");
+        Map<String, Object> context = new HashMap<>(model);
+        context.put("baseUrl", baseUrl);
+        return new RenderedMail(render(subject, context).strip(), render(text, context), html != null ? render(html, context) : null);
+    }
+
+    private Template template(String name) {
+        Template template = templates.get(name);
+        if (template == null) {
+            throw new IllegalStateException("Mail template not found: templates/mail/" + name);
+        }
+        return template;
+    }
+
+    private String render(Template template, Object context) {
+        StringBuilder buffer = buffers.poll();
+        if (buffer == null) {
+            buffer = new StringBuilder(2048);
+        }
+        try {
+            template.execute(context, new BufferWriter(buffer));
+            return buffer.toString();
+        } finally {
+            buffer.setLength(0);
+            if (buffer.capacity() <= MAX_POOLED_CAPACITY) {
+                buffers.offer(buffer);
+            }
+        }
+    }
+
+    // Unsynchronized Writer over a StringBuilder (StringWriter synchronizes on every write)
+    private static final class BufferWriter extends Writer {
+        private final StringBuilder buffer;
+
+        private BufferWriter(StringBuilder buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(char[] chars, int offset, int length) {
+            buffer.append(chars, offset, length);
+        }
+
+        @Override
+        public void write(String string, int offset, int length) {
+            buffer.append(string, offset, offset + length);
+        }
+
+        @Override
+        public Writer append(CharSequence chars) {
+            buffer.append(chars);
+            return this;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
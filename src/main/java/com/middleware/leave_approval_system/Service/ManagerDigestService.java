@@ -0,0 +1,122 @@
+package com.middleware.leave_approval_system.Service;
+
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import com.middleware.leave_approval_system.Entity.ManagerDigestItem;
+import com.middleware.leave_approval_system.Repository.LeaveRequestRepo;
+import com.middleware.leave_approval_system.Repository.ManagerDigestItemRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+// Digest mode for manager notifications. With email.digest.enabled, a submission is queued as a
+// manager_digest_item instead of mailed; once a manager's oldest item is email.digest.window-minutes old,
+// everything still pending for that manager goes out as one email with approve/reject links per request.
+// Urgent leave types (email.digest.urgent-types) are always mailed straight away.
+@Service
+public class ManagerDigestService {
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private ManagerDigestItemRepo managerDigestItemRepo;
+
+    @Autowired
+    private LeaveRequestRepo leaveRequestRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${email.digest.enabled:false}")
+    private boolean enabled;
+
+    @Value("${email.digest.window-minutes:15}")
+    private long windowMinutes;
+
+    @Value("${email.digest.urgent-types:SICK}")
+    private Set<LeaveRequest.LeaveType> urgentTypes;
+
+    private TransactionTemplate transactionTemplate;
+
+    private DistributionSummary digestSize;
+
+    @PostConstruct
+    public void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        digestSize = DistributionSummary.builder("email.digest.size")
+                .description("Pending requests listed in one manager digest")
+                .register(meterRegistry);
+    }
+
+    // Method to notify the manager of a new submission, now or through the digest; joins the caller's transaction
+    @Transactional
+    public void notifyManager(LeaveRequest leaveRequest) {
+        String managerEmail = leaveRequest.getManagerEmail();
+        if (!enabled || managerEmail == null || urgentTypes.contains(leaveRequest.getLeaveType())) {
+            emailService.sendLeaveRequestEmail(managerEmail, leaveRequest);
+            countNotification("immediate");
+            return;
+        }
+        ManagerDigestItem item = new ManagerDigestItem();
+        item.setManagerEmail(managerEmail);
+        item.setLeaveRequestId(leaveRequest.getId());
+        item.setCreatedAt(LocalDateTime.now());
+        managerDigestItemRepo.save(item);
+        countNotification("digest");
+    }
+
+    // Method to send the digests whose window has closed, one transaction per manager.
+    // Also drains items left over after digest mode is switched off.
+    @Scheduled(fixedDelayString = "${email.digest.poll-interval-ms:60000}")
+    public void sendDueDigests() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(windowMinutes);
+        for (String managerEmail : managerDigestItemRepo.findManagersDueBefore(cutoff)) {
+            transactionTemplate.executeWithoutResult(status -> sendDigest(managerEmail));
+        }
+    }
+
+    private void sendDigest(String managerEmail) {
+        List<ManagerDigestItem> items = managerDigestItemRepo.findByManagerEmailForUpdate(managerEmail);
+        if (items.isEmpty()) {
+            // Claimed by another instance
+            return;
+        }
+        // Requests approved, rejected or deleted during the window need no action any more
+        List<LeaveRequest> pending = leaveRequestRepository.findAllById(
+                        items.stream().map(ManagerDigestItem::getLeaveRequestId).toList()).stream()
+                .filter(leaveRequest -> leaveRequest.getLeaveStatus() == LeaveRequest.LeaveStatus.PENDING)
+                .sorted(Comparator.comparing(LeaveRequest::getId))
+                .toList();
+        if (pending.size() == 1) {
+            emailService.sendLeaveRequestEmail(managerEmail, pending.get(0));
+        } else if (!pending.isEmpty()) {
+            emailService.sendManagerDigest(managerEmail, pending);
+        }
+        managerDigestItemRepo.deleteAllInBatch(items);
+        digestSize.record(pending.size());
+    }
+
+    private void countNotification(String route) {
+        Counter.builder("email.digest.notifications")
+                .description("Manager notifications for new submissions, by delivery route")
+                .tag("route", route)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,103 @@
+package com.middleware.leave_approval_system.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.middleware.leave_approval_system.Dto.LeavePage;
+import com.middleware.leave_approval_system.Dto.LeaveRequestSummary;
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import com.middleware.leave_approval_system.Event.LeaveDataImportedEvent;
+import com.middleware.leave_approval_system.Event.LeaveRequestChangedEvent;
+import com.middleware.leave_approval_system.Event.LeaveSnapshot;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// First-page cache for the manager dashboard lists, one entry per manager holding a page per status.
+// A committed change to any of a manager's requests drops that manager's entry.
+@Component
+public class ManagerInboxCache {
+
+    private static final String ALL_STATUSES = "ALL";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${leave.inbox-cache.max-managers:10000}")
+    private long maxManagers;
+
+    @Value("${leave.inbox-cache.ttl-seconds:60}")
+    private long ttlSeconds;
+
+    private Cache<String, Map<String, LeavePage<LeaveRequestSummary>>> cache;
+
+    private Counter hits;
+    private Counter misses;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxManagers)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        hits = Counter.builder("leave.inbox.cache.requests").tag("result", "hit").register(meterRegistry);
+        misses = Counter.builder("leave.inbox.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("leave.inbox.cache.managers", cache, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    // Method to return the cached page for a manager and status (null = all statuses), loading it on a miss
+    public LeavePage<LeaveRequestSummary> get(String managerId, LeaveRequest.LeaveStatus leaveStatus, Supplier<LeavePage<LeaveRequestSummary>> loader) {
+        // The loaded page goes into the map captured here; if the manager is invalidated
+        // while loading, that map is already detached and the stale page is never served
+        Map<String, LeavePage<LeaveRequestSummary>> pages = cache.get(managerId, key -> new ConcurrentHashMap<>());
+        String key = leaveStatus != null ? leaveStatus.name() : ALL_STATUSES;
+        LeavePage<LeaveRequestSummary> page = pages.get(key);
+        if (page != null) {
+            hits.increment();
+            return page;
+        }
+        misses.increment();
+        page = loader.get();
+        pages.put(key, page);
+        return page;
+    }
+
+    public void invalidate(String managerId) {
+        if (managerId != null) {
+            cache.invalidate(managerId);
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    // Imports bypass the change events, so start over from the database
+    @EventListener
+    public void onLeaveDataImported(LeaveDataImportedEvent event) {
+        invalidateAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLeaveRequestChanged(LeaveRequestChangedEvent event) {
+        invalidateManagerOf(event.before());
+        invalidateManagerOf(event.after());
+    }
+
+    private void invalidateManagerOf(LeaveSnapshot snapshot) {
+        if (snapshot != null) {
+            invalidate(snapshot.managerId());
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.middleware.leave_approval_system.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.middleware.leave_approval_system.Dto.TeamAbsence;
+import com.middleware.leave_approval_system.Dto.TeamAvailabilityDay;
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import com.middleware.leave_approval_system.Event.LeaveDataImportedEvent;
+import com.middleware.leave_approval_system.Event.LeaveRequestChangedEvent;
+import com.middleware.leave_approval_system.Event.LeaveSnapshot;
+import com.middleware.leave_approval_system.Exception.LeaveConflictException;
+import com.middleware.leave_approval_system.Exception.ResourceNotFoundException;
+import com.middleware.leave_approval_system.Repository.LeaveRequestRepo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Per-manager occupancy index of approved leaves: a counter per calendar day plus the leaves ordered by start date.
+// A manager's team is loaded with one query on first use and kept in step by committed change events
+// (approve, reject, delete), so availability views and the submit-time capacity check need no list scan.
+@Component
+public class TeamAvailabilityIndex {
+
+    private static final Comparator<TeamAbsence> BY_START =
+            Comparator.comparing(TeamAbsence::leaveStartDate).thenComparing(TeamAbsence::id);
+
+    @Autowired
+    private LeaveRequestRepo leaveRequestRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${team.availability.max-managers:10000}")
+    private long maxManagers;
+
+    @Value("${team.availability.idle-minutes:60}")
+    private long idleMinutes;
+
+    // Longest range one availability call may ask for
+    @Value("${team.availability.max-days:366}")
+    private int maxDays;
+
+    // Approved absences a team may have on one day before new submissions for that day are refused; 0 = no limit
+    @Value("${team.max-concurrent-absences:0}")
+    private int maxConcurrentAbsences;
+
+    private Cache<String, TeamCalendar> cache;
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxManagers)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .build();
+        Gauge.builder("leave.team.index.managers", cache, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    // Method to list, for every day in [from, to], how many of the manager's reports are on approved leave and who
+    public List<TeamAvailabilityDay> availability(String managerId, LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new ResourceNotFoundException("A valid from and to date must be provided.");
+        }
+        if (to.toEpochDay() - from.toEpochDay() + 1 > maxDays) {
+            throw new ResourceNotFoundException("Team availability can cover at most " + maxDays + " days.");
+        }
+        TeamCalendar calendar = calendar(managerId);
+        synchronized (calendar) {
+            return calendar.days(from, to);
+        }
+    }
+
+    // Method to refuse a request when the manager's team already has team.max-concurrent-absences on any of its days
+    public void checkCapacity(LeaveRequest leaveRequest) {
+        if (maxConcurrentAbsences <= 0 || leaveRequest.getManagerId() == null
+                || leaveRequest.getLeaveStartDate() == null || leaveRequest.getLeaveEndDate() == null) {
+            return;
+        }
+        TeamCalendar calendar = calendar(leaveRequest.getManagerId());
+        LocalDate fullDay;
+        synchronized (calendar) {
+            fullDay = calendar.firstDayWithAtLeast(leaveRequest.getLeaveStartDate(), leaveRequest.getLeaveEndDate(), maxConcurrentAbsences);
+        }
+        if (fullDay != null) {
+            throw new LeaveConflictException("The team already has " + maxConcurrentAbsences + " approved absences on " + fullDay + ".");
+        }
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    // Imports bypass the change events, so start over from the database
+    @EventListener
+    public void onLeaveDataImported(LeaveDataImportedEvent event) {
+        invalidateAll();
+    }
+
+    // Keeps the index in step with committed approvals, rejections and deletions
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onLeaveRequestChanged(LeaveRequestChangedEvent event) {
+        LeaveSnapshot before = event.before();
+        LeaveSnapshot after = event.after();
+        if (before != null && before.leaveStatus() == LeaveRequest.LeaveStatus.APPROVED) {
+            TeamCalendar calendar = before.managerId() != null ? cache.getIfPresent(before.managerId()) : null;
+            if (calendar != null) {
+                synchronized (calendar) {
+                    calendar.remove(before.id());
+                }
+            }
+        }
+        if (after != null && after.leaveStatus() == LeaveRequest.LeaveStatus.APPROVED) {
+            TeamCalendar calendar = after.managerId() != null ? cache.getIfPresent(after.managerId()) : null;
+            if (calendar != null) {
+                synchronized (calendar) {
+                    calendar.put(new TeamAbsence(after.id(), after.employeeId(), after.firstName(), after.lastName(),
+                            after.leaveType(), after.leaveStartDate(), after.leaveEndDate()));
+                }
+            }
+        }
+    }
+
+    // Cache miss: one indexed query (manager_id, leave_status) for the team's approved leaves
+    private TeamCalendar calendar(String managerId) {
+        return cache.get(managerId, key -> {
+            TeamCalendar calendar = new TeamCalendar();
+            for (TeamAbsence absence : leaveRequestRepository.findTeamAbsencesByManagerIdAndLeaveStatus(key, LeaveRequest.LeaveStatus.APPROVED)) {
+                calendar.put(absence);
+            }
+            return calendar;
+        });
+    }
+
+    // Day counters over the span of the team's approved leaves, grown as leaves outside it arrive.
+    // Per-day names come from the leaves starting in [from - longest span, to]; guarded by synchronizing on the instance.
+    private static final class TeamCalendar {
+        private final TreeSet<TeamAbsence> byStart = new TreeSet<>(BY_START);
+        private final Map<Long, TeamAbsence> byId = new HashMap<>();
+        // Never shrinks on removal, which only widens the scan window
+        private long longestSpanDays;
+        // absent[i] is the number of approved absences on epoch day firstDay + i
+        private long firstDay;
+        private int[] absent = new int[0];
+
+        private List<TeamAvailabilityDay> days(LocalDate from, LocalDate to) {
+            long start = from.toEpochDay();
+            int length = (int) (to.toEpochDay() - start + 1);
+            List<List<TeamAbsence>> absences = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                absences.add(null);
+            }
+            TeamAbsence lower = new TeamAbsence(Long.MIN_VALUE, null, null, null, null, from.minusDays(longestSpanDays), null);
+            TeamAbsence upper = new TeamAbsence(Long.MAX_VALUE, null, null, null, null, to, null);
+            for (TeamAbsence absence : byStart.subSet(lower, true, upper, true)) {
+                long last = Math.min(absence.leaveEndDate().toEpochDay(), to.toEpochDay());
+                for (long day = Math.max(absence.leaveStartDate().toEpochDay(), start); day <= last; day++) {
+                    int index = (int) (day - start);
+                    if (absences.get(index) == null) {
+                        absences.set(index, new ArrayList<>());
+                    }
+                    absences.get(index).add(absence);
+                }
+            }
+            List<TeamAvailabilityDay> days = new ArrayList<>(length);
+            for (int i = 0; i < length; i++) {
+                List<TeamAbsence> onDay = absences.get(i);
+                days.add(new TeamAvailabilityDay(LocalDate.ofEpochDay(start + i), absentOn(start + i), onDay != null ? onDay : List.of()));
+            }
+            return days;
+        }
+
+        private LocalDate firstDayWithAtLeast(LocalDate from, LocalDate to, int limit) {
+            for (long day = from.toEpochDay(); day <= to.toEpochDay(); day++) {
+                if (absentOn(day) >= limit) {
+                    return LocalDate.ofEpochDay(day);
+                }
+            }
+            return null;
+        }
+
+        private int absentOn(long day) {
+            long index = day - firstDay;
+            return index >= 0 && index < absent.length ? absent[(int) index] : 0;
+        }
+
+        private void put(TeamAbsence absence) {
+            if (absence.id() == null || absence.leaveStartDate() == null || absence.leaveEndDate() == null
+                    || absence.leaveEndDate().isBefore(absence.leaveStartDate())) {
+                return;
+            }
+            remove(absence.id());
+            byStart.add(absence);
+            byId.put(absence.id(), absence);
+            longestSpanDays = Math.max(longestSpanDays, absence.leaveEndDate().toEpochDay() - absence.leaveStartDate().toEpochDay());
+            count(absence, 1);
+        }
+
+        private void remove(Long id) {
+            TeamAbsence previous = byId.remove(id);
+            if (previous != null) {
+                byStart.remove(previous);
+                count(previous, -1);
+            }
+        }
+
+        private void count(TeamAbsence absence, int delta) {
+            long start = absence.leaveStartDate().toEpochDay();
+            long end = absence.leaveEndDate().toEpochDay();
+            cover(start, end);
+            for (long day = start; day <= end; day++) {
+                absent[(int) (day - firstDay)] += delta;
+            }
+        }
+
+        private void cover(long start, long end) {
+            if (absent.length == 0) {
+                firstDay = start;
+                absent = new int[(int) (end - start + 1)];
+                return;
+            }
+            long lastDay = firstDay + absent.length - 1;
+            if (start >= firstDay && end <= lastDay) {
+                return;
+            }
+            long newFirstDay = Math.min(firstDay, start);
+            int[] grown = new int[(int) (Math.max(lastDay, end) - newFirstDay + 1)];
+            System.arraycopy(absent, 0, grown, (int) (firstDay - newFirstDay), absent.length);
+            firstDay = newFirstDay;
+            absent = grown;
+        }
+    }
+}
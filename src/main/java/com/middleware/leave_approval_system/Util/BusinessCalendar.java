@@ -0,0 +1,132 @@
+package com.middleware.leave_approval_system.Util;
+
+import com.middleware.leave_approval_system.Event.HolidaysReloadedEvent;
+import com.middleware.leave_approval_system.Service.HolidayCalendarService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Working-day calendar built once per region and year: a bitmap of working days plus cumulative
+// counts, so counting business days between two dates is a couple of array reads per year touched.
+@Component
+public class BusinessCalendar {
+
+    @Autowired
+    private HolidayCalendarService holidayCalendarService;
+
+    private final Map<String, AtomicReferenceArray<YearTable>> regions = new ConcurrentHashMap<>();
+
+    // Method to count working days (no weekends, no holidays) between two dates, both inclusive
+    public int countBusinessDays(LocalDate startDate, LocalDate endDate) {
+        return countBusinessDays(holidayCalendarService.getDefaultRegion(), startDate, endDate);
+    }
+
+    public int countBusinessDays(String region, LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            return 0;
+        }
+        AtomicReferenceArray<YearTable> years = years(region);
+        int startYear = startDate.getYear();
+        int endYear = endDate.getYear();
+        if (startYear == endYear) {
+            return table(region, years, startYear).count(startDate.getDayOfYear(), endDate.getDayOfYear());
+        }
+        int businessDays = table(region, years, startYear).countFrom(startDate.getDayOfYear());
+        for (int year = startYear + 1; year < endYear; year++) {
+            businessDays += table(region, years, year).total();
+        }
+        return businessDays + table(region, years, endYear).countUntil(endDate.getDayOfYear());
+    }
+
+    public boolean isBusinessDay(LocalDate date) {
+        return isBusinessDay(holidayCalendarService.getDefaultRegion(), date);
+    }
+
+    public boolean isBusinessDay(String region, LocalDate date) {
+        return table(region, years(region), date.getYear()).isWorking(date.getDayOfYear());
+    }
+
+    // Method to drop precomputed years when holidays change; tables are rebuilt lazily on the next lookup
+    @EventListener
+    public void onHolidaysReloaded(HolidaysReloadedEvent event) {
+        if (event.region() == null) {
+            regions.clear();
+        } else {
+            regions.remove(event.region());
+        }
+    }
+
+    private AtomicReferenceArray<YearTable> years(String region) {
+        return regions.computeIfAbsent(region, key -> new AtomicReferenceArray<>(HolidayCalendarService.MAX_YEAR - HolidayCalendarService.MIN_YEAR + 1));
+    }
+
+    private YearTable table(String region, AtomicReferenceArray<YearTable> years, int year) {
+        int index = year - HolidayCalendarService.MIN_YEAR;
+        YearTable table = index >= 0 && index < years.length() ? years.get(index) : null;
+        if (table == null) {
+            // getHolidays rejects years outside MIN_YEAR..MAX_YEAR before the index is used
+            YearTable built = YearTable.build(year, holidayCalendarService.getHolidays(region, year));
+            years.compareAndSet(index, null, built);
+            table = years.get(index);
+        }
+        return table;
+    }
+
+    static final class YearTable {
+
+        // Bit (dayOfYear - 1) is set when that day is a working day
+        private final long[] workingDays;
+
+        // cumulative[d] = number of working days on days 1..d of the year; cumulative[0] = 0
+        private final short[] cumulative;
+
+        private YearTable(long[] workingDays, short[] cumulative) {
+            this.workingDays = workingDays;
+            this.cumulative = cumulative;
+        }
+
+        static YearTable build(int year, HolidaySet holidays) {
+            int length = LocalDate.of(year, 1, 1).lengthOfYear();
+            long[] workingDays = new long[(length + 63) >>> 6];
+            short[] cumulative = new short[length + 1];
+            // ISO day of week of January 1st: 1 = Monday ... 7 = Sunday
+            int firstDayOfWeek = LocalDate.of(year, 1, 1).getDayOfWeek().getValue();
+            for (int day = 1; day <= length; day++) {
+                int bit = day - 1;
+                int dayOfWeek = (firstDayOfWeek - 1 + bit) % 7 + 1;
+                boolean working = dayOfWeek <= 5 && !holidays.containsDayOfYear(day);
+                if (working) {
+                    workingDays[bit >>> 6] |= 1L << bit;
+                }
+                cumulative[day] = (short) (cumulative[day - 1] + (working ? 1 : 0));
+            }
+            return new YearTable(workingDays, cumulative);
+        }
+
+        int count(int fromDay, int toDay) {
+            return cumulative[toDay] - cumulative[fromDay - 1];
+        }
+
+        int countFrom(int fromDay) {
+            return total() - cumulative[fromDay - 1];
+        }
+
+        int countUntil(int toDay) {
+            return cumulative[toDay];
+        }
+
+        int total() {
+            return cumulative[cumulative.length - 1];
+        }
+
+        boolean isWorking(int day) {
+            int bit = day - 1;
+            return (workingDays[bit >>> 6] & (1L << bit)) != 0;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.middleware.leave_approval_system.Util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Immutable holidays of one region and year, stored as a day-of-year bitset
+public final class HolidaySet {
+
+    private final int year;
+
+    // Bit (dayOfYear - 1) is set when that day is a holiday
+    private final long[] bits;
+
+    private HolidaySet(int year, long[] bits) {
+        this.year = year;
+        this.bits = bits;
+    }
+
+    public static HolidaySet of(int year, Iterable<LocalDate> holidays) {
+        long[] bits = new long[6];
+        for (LocalDate holiday : holidays) {
+            if (holiday.getYear() == year) {
+                int bit = holiday.getDayOfYear() - 1;
+                bits[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return new HolidaySet(year, bits);
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public boolean contains(LocalDate date) {
+        return date.getYear() == year && containsDayOfYear(date.getDayOfYear());
+    }
+
+    public boolean containsDayOfYear(int dayOfYear) {
+        int bit = dayOfYear - 1;
+        return (bits[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    public List<LocalDate> toDates() {
+        List<LocalDate> dates = new ArrayList<>();
+        for (int word = 0; word < bits.length; word++) {
+            long remaining = bits[word];
+            while (remaining != 0) {
+                int bit = Long.numberOfTrailingZeros(remaining);
+                dates.add(LocalDate.ofYearDay(year, (word << 6) + bit + 1));
+                remaining &= remaining - 1;
+            }
+        }
+        return dates;
+    }
+}
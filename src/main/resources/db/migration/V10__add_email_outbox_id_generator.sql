@@ -0,0 +1,3 @@
+-- email_outbox ids come from id_generator too (see V9), continuing after the AUTO_INCREMENT ids
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'email_outbox', COALESCE(MAX(id), 0) + 1 FROM email_outbox;
@@ -0,0 +1,2 @@
+-- Lets DocumentStorageService check whether any leave request still references a stored document
+CREATE INDEX idx_leave_request_medical_document ON leave_request (medical_document_id);
@@ -0,0 +1,4 @@
+-- When a document was last uploaded or deduplicated onto; DocumentStorageService sweeps unreferenced
+-- documents a grace period after it
+ALTER TABLE stored_document ADD COLUMN last_used_at DATETIME(6);
+UPDATE stored_document SET last_used_at = created_at;
@@ -0,0 +1,8 @@
+-- One row per employee that has submitted or updated a leave. LeaveOverlapIndex locks it to serialize an
+-- employee's overlap checks across instances; version is bumped by every write that adds leave dates, so an
+-- instance whose cached dates are older than the row reloads them
+CREATE TABLE IF NOT EXISTS employee_leave_lock (
+    employee_id VARCHAR(255) NOT NULL,
+    version     BIGINT       NOT NULL,
+    PRIMARY KEY (employee_id)
+);
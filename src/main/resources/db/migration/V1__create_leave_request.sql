@@ -0,0 +1,22 @@
+CREATE TABLE IF NOT EXISTS leave_request (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    employee_id      VARCHAR(255),
+    first_name       VARCHAR(255),
+    last_name        VARCHAR(255),
+    email            VARCHAR(255),
+    position         VARCHAR(255),
+    phone            VARCHAR(255),
+    manager_id       VARCHAR(255),
+    manager_name     VARCHAR(255),
+    manager_email    VARCHAR(255),
+    leave_start_date DATE,
+    leave_end_date   DATE,
+    leave_reason     VARCHAR(255),
+    leave_type       VARCHAR(32),
+    duration         DOUBLE,
+    duration_type    VARCHAR(255),
+    comments         VARCHAR(255),
+    medical_document VARCHAR(255),
+    leave_status     VARCHAR(32),
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,32 @@
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id              BIGINT       NOT NULL AUTO_INCREMENT,
+    recipient       VARCHAR(255),
+    subject         VARCHAR(255),
+    body            LONGTEXT,
+    status          VARCHAR(32),
+    attempts        INT          NOT NULL,
+    next_attempt_at DATETIME(6),
+    created_at      DATETIME(6),
+    sent_at         DATETIME(6),
+    last_error      VARCHAR(1000),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS leave_balance (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    employee_id  VARCHAR(255),
+    leave_type   VARCHAR(32),
+    balance_year INT          NOT NULL,
+    used_days    DOUBLE       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_leave_balance_employee_type_year UNIQUE (employee_id, leave_type, balance_year)
+);
+
+CREATE TABLE IF NOT EXISTS holiday (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    region       VARCHAR(255),
+    holiday_date DATE,
+    name         VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_holiday_region_date UNIQUE (region, holiday_date)
+);
@@ -0,0 +1,14 @@
+-- Balance seeding and per-type lookups: employee_id + leave_type (+ status / start date)
+CREATE INDEX idx_leave_request_employee_type_status ON leave_request (employee_id, leave_type, leave_status);
+
+-- Employee lists filtered by status (pending / approved / rejected endpoints)
+CREATE INDEX idx_leave_request_employee_status ON leave_request (employee_id, leave_status);
+
+-- Overlap checks: findOverlappingLeaves filters on employee_id and both dates
+CREATE INDEX idx_leave_request_employee_dates ON leave_request (employee_id, leave_start_date, leave_end_date);
+
+-- Manager inbox: manager_id + leave_status, newest first (InnoDB appends the primary key, so id order is free)
+CREATE INDEX idx_leave_request_manager_status ON leave_request (manager_id, leave_status);
+
+-- Outbox dispatcher: due PENDING emails
+CREATE INDEX idx_email_outbox_status_next_attempt ON email_outbox (status, next_attempt_at);
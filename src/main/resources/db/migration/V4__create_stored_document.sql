@@ -0,0 +1,12 @@
+CREATE TABLE stored_document (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    sha256       VARCHAR(64),
+    size_bytes   BIGINT       NOT NULL,
+    content_type VARCHAR(255),
+    storage_path VARCHAR(255),
+    created_at   DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_stored_document_sha256 UNIQUE (sha256)
+);
+
+ALTER TABLE leave_request ADD COLUMN medical_document_id BIGINT;
@@ -0,0 +1,2 @@
+-- Optimistic lock column for LeaveRequest; existing rows start at version 0
+ALTER TABLE leave_request ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,2 @@
+-- HTML alternative of outbox emails rendered from the mail templates
+ALTER TABLE email_outbox ADD COLUMN html_body LONGTEXT;
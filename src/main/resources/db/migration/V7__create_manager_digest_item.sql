@@ -0,0 +1,11 @@
+-- Manager notifications waiting for the next digest email
+CREATE TABLE manager_digest_item (
+    id               BIGINT       NOT NULL AUTO_INCREMENT,
+    manager_email    VARCHAR(255),
+    leave_request_id BIGINT       NOT NULL,
+    created_at       DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+-- Digest job: managers whose oldest waiting item is past the window, then that manager's items
+CREATE INDEX idx_manager_digest_item_manager_created ON manager_digest_item (manager_email, created_at);
@@ -0,0 +1,22 @@
+-- Leave usage per manager, leave type, status and month of the start date (yyyymm), kept up to date by
+-- LeaveUsageRollupService. Requests without a manager are counted under manager_id ''.
+CREATE TABLE leave_usage_rollup (
+    manager_id    VARCHAR(255) NOT NULL,
+    leave_type    VARCHAR(32)  NOT NULL,
+    leave_status  VARCHAR(32)  NOT NULL,
+    usage_month   INT          NOT NULL,
+    request_count BIGINT       NOT NULL,
+    business_days DOUBLE       NOT NULL,
+    PRIMARY KEY (manager_id, leave_type, leave_status, usage_month)
+);
+
+-- Organisation-wide reports by month
+CREATE INDEX idx_leave_usage_rollup_month ON leave_usage_rollup (usage_month);
+
+-- Seed from the existing requests; from here on the table is maintained incrementally
+INSERT INTO leave_usage_rollup (manager_id, leave_type, leave_status, usage_month, request_count, business_days)
+SELECT COALESCE(manager_id, ''), leave_type, leave_status,
+       YEAR(leave_start_date) * 100 + MONTH(leave_start_date), COUNT(*), COALESCE(SUM(duration), 0)
+FROM leave_request
+WHERE leave_type IS NOT NULL AND leave_status IS NOT NULL AND leave_start_date IS NOT NULL
+GROUP BY COALESCE(manager_id, ''), leave_type, leave_status, YEAR(leave_start_date) * 100 + MONTH(leave_start_date);
@@ -0,0 +1,11 @@
+-- Hibernate TABLE id generator for leave_request (pooled-lo: next_val is the first id of the next block).
+-- Unlike AUTO_INCREMENT ids, these are known before the insert, so inserts can be sent as JDBC batches.
+CREATE TABLE id_generator (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val      BIGINT       NOT NULL,
+    PRIMARY KEY (sequence_name)
+);
+
+-- Continue after the ids AUTO_INCREMENT has handed out so far
+INSERT INTO id_generator (sequence_name, next_val)
+SELECT 'leave_request', COALESCE(MAX(id), 0) + 1 FROM leave_request;
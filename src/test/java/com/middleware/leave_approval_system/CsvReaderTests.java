@@ -0,0 +1,75 @@
+package com.middleware.leave_approval_system;
+
+import com.middleware.leave_approval_system.Exception.ResourceNotFoundException;
+import com.middleware.leave_approval_system.Util.CsvReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTests {
+
+    // Each record as its starting line followed by its fields
+    private static List<List<String>> records(String csv) throws IOException {
+        CsvReader reader = new CsvReader(new StringReader(csv));
+        List<List<String>> records = new ArrayList<>();
+        List<String> fields;
+        while ((fields = reader.next()) != null) {
+            List<String> record = new ArrayList<>();
+            record.add(String.valueOf(reader.recordLine()));
+            record.addAll(fields);
+            records.add(record);
+        }
+        return records;
+    }
+
+    @Test
+    void plainFieldsAndEmptyFields() throws IOException {
+        assertThat(records("a,b,c\n,x,\n")).containsExactly(
+                List.of("1", "a", "b", "c"),
+                List.of("2", "", "x", ""));
+    }
+
+    @Test
+    void quotedFieldsHoldCommasAndDoubledQuotes() throws IOException {
+        assertThat(records("\"Smith, Jane\",\"said \"\"hi\"\"\",\"\"\n")).containsExactly(
+                List.of("1", "Smith, Jane", "said \"hi\"", ""));
+    }
+
+    @Test
+    void quotedLineBreaksStayInTheFieldAndCountTowardsLineNumbers() throws IOException {
+        assertThat(records("h1,h2\r\n\"two\r\nlines\",x\r\n\"three\nmore\nlines\",y\r\nlast,z")).containsExactly(
+                List.of("1", "h1", "h2"),
+                List.of("2", "two\r\nlines", "x"),
+                List.of("4", "three\nmore\nlines", "y"),
+                List.of("7", "last", "z"));
+    }
+
+    @Test
+    void crLfLfAndBareCrAllEndARecord() throws IOException {
+        assertThat(records("a\r\nb\nc\rd")).containsExactly(
+                List.of("1", "a"),
+                List.of("2", "b"),
+                List.of("3", "c"),
+                List.of("4", "d"));
+    }
+
+    @Test
+    void leadingByteOrderMarkIsSkipped() throws IOException {
+        assertThat(records("\uFEFF\"employeeId\",leaveType\n\uFEFFE1,SICK\n")).containsExactly(
+                List.of("1", "employeeId", "leaveType"),
+                List.of("2", "\uFEFFE1", "SICK"));
+    }
+
+    @Test
+    void unterminatedQuoteNamesTheLineTheRecordStartedOn() {
+        assertThatThrownBy(() -> records("a\nb\n\"open\nfield,c\n"))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("line 3");
+    }
+}
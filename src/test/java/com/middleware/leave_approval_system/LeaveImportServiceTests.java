@@ -0,0 +1,76 @@
+package com.middleware.leave_approval_system;
+
+import com.middleware.leave_approval_system.Dto.LeaveImportError;
+import com.middleware.leave_approval_system.Dto.LeaveImportResult;
+import com.middleware.leave_approval_system.Service.LeaveImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs against the in-memory H2 database of the loadtest profile, with chunks of 4 rows
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:leave-import-tests;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "leave.import.chunk-size=4"
+})
+@ActiveProfiles("loadtest")
+class LeaveImportServiceTests {
+
+    @Autowired
+    private LeaveImportService leaveImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LeaveImportResult importCsv(String csv) throws IOException {
+        return leaveImportService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private List<String> importedEmployees(String prefix) {
+        return jdbcTemplate.queryForList("SELECT employee_id FROM leave_request WHERE employee_id LIKE ? ORDER BY employee_id",
+                String.class, prefix + "%");
+    }
+
+    @Test
+    void rowRefusedByTheDatabaseIsReportedAloneAndTheRestOfItsChunkIsImported() throws IOException {
+        String tooLong = "x".repeat(300);
+        String csv = "employeeId,firstName,leaveStartDate,leaveEndDate,leaveType\n" +
+                "BIS-1,Ann,2024-01-08,2024-01-09,SICK\n" +
+                "BIS-2,\"Lee, Bo\",2024-01-08,2024-01-09,VACATION\n" +
+                "BIS-3," + tooLong + ",2024-01-08,2024-01-09,SICK\n" +
+                "BIS-4,\"two\nlines\",2024-01-08,2024-01-09,CASUAL\n" +
+                "BIS-5,Eve,2024-01-08,2024-01-09,SICK\n";
+
+        LeaveImportResult result = importCsv(csv);
+
+        assertThat(result.rows()).isEqualTo(5);
+        assertThat(result.imported()).isEqualTo(4);
+        assertThat(result.failed()).isEqualTo(1);
+        assertThat(result.errors()).extracting(LeaveImportError::line).containsExactly(4L);
+        assertThat(result.errors().get(0).message()).startsWith("Not imported: ");
+        assertThat(importedEmployees("BIS-")).containsExactly("BIS-1", "BIS-2", "BIS-4", "BIS-5");
+    }
+
+    @Test
+    void invalidRowsAreReportedWithTheLineTheyStartOn() throws IOException {
+        String csv = "\uFEFFemployeeId,comments,leaveStartDate,leaveEndDate,leaveType\n" +
+                "BAD-1,\"multi\nline\",2024-02-05,2024-02-06,SICK\n" +
+                "BAD-2,,not-a-date,2024-02-06,SICK\n" +
+                "BAD-3,,2024-02-05,2024-02-06,UNKNOWN\n" +
+                ",,2024-02-05,2024-02-06,SICK\n";
+
+        LeaveImportResult result = importCsv(csv);
+
+        assertThat(result.imported()).isEqualTo(1);
+        assertThat(result.errors()).extracting(LeaveImportError::line).containsExactly(4L, 5L, 6L);
+        assertThat(importedEmployees("BAD-")).containsExactly("BAD-1");
+    }
+}
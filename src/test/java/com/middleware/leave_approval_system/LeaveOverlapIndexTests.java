@@ -0,0 +1,150 @@
+package com.middleware.leave_approval_system;
+
+import com.middleware.leave_approval_system.Entity.LeaveRequest;
+import com.middleware.leave_approval_system.Exception.ResourceNotFoundException;
+import com.middleware.leave_approval_system.Service.LeaveOverlapIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Two index instances over one migrated H2 database stand in for two application instances
+class LeaveOverlapIndexTests {
+
+    private static final String EMPLOYEE = "E1";
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private LeaveOverlapIndex first;
+    private LeaveOverlapIndex second;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:overlap-" + UUID.randomUUID() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        first = index();
+        second = index();
+    }
+
+    private LeaveOverlapIndex index() {
+        LeaveOverlapIndex index = new LeaveOverlapIndex();
+        ReflectionTestUtils.setField(index, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(index, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(index, "maxEmployees", 100L);
+        ReflectionTestUtils.setField(index, "idleMinutes", 60L);
+        index.init();
+        return index;
+    }
+
+    private static LeaveRequest leave(long id, String start, String end, LeaveRequest.LeaveStatus status) {
+        LeaveRequest leaveRequest = new LeaveRequest();
+        leaveRequest.setId(id);
+        leaveRequest.setEmployeeId(EMPLOYEE);
+        leaveRequest.setLeaveStartDate(LocalDate.parse(start));
+        leaveRequest.setLeaveEndDate(LocalDate.parse(end));
+        leaveRequest.setLeaveStatus(status);
+        return leaveRequest;
+    }
+
+    // What submit and update do: write the row, then reserve its dates in the same transaction
+    private void save(LeaveOverlapIndex index, LeaveRequest leaveRequest) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM leave_request WHERE id = ?", leaveRequest.getId());
+            jdbcTemplate.update("INSERT INTO leave_request (id, employee_id, leave_start_date, leave_end_date, leave_status) " +
+                            "VALUES (?, ?, ?, ?, ?)", leaveRequest.getId(), leaveRequest.getEmployeeId(),
+                    leaveRequest.getLeaveStartDate(), leaveRequest.getLeaveEndDate(), leaveRequest.getLeaveStatus().name());
+            index.reserve(leaveRequest);
+        });
+    }
+
+    private void submit(LeaveOverlapIndex index, long id, String start, String end) {
+        save(index, leave(id, start, end, LeaveRequest.LeaveStatus.PENDING));
+    }
+
+    private void assertRefused(LeaveOverlapIndex index, long id, String start, String end) {
+        assertThatThrownBy(() -> submit(index, id, start, end))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessageContaining("overlapping");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM leave_request WHERE id = ?", Long.class, id)).isZero();
+    }
+
+    @Test
+    void overlappingDatesAreRefusedAndAdjacentOnesAccepted() {
+        submit(first, 1, "2030-01-10", "2030-01-12");
+        assertRefused(first, 2, "2030-01-12", "2030-01-14");
+        assertRefused(first, 2, "2030-01-01", "2030-01-31");
+        submit(first, 2, "2030-01-13", "2030-01-14");
+        submit(first, 3, "2030-01-05", "2030-01-09");
+
+        // A long leave starting well before the candidate is still found
+        submit(first, 4, "2030-03-01", "2030-03-31");
+        assertRefused(first, 5, "2030-03-30", "2030-04-02");
+        submit(first, 5, "2030-04-01", "2030-04-02");
+    }
+
+    @Test
+    void updatedLeaveDoesNotOverlapItselfAndFreesItsOldDates() {
+        submit(first, 1, "2030-01-10", "2030-01-12");
+        submit(first, 1, "2030-01-11", "2030-01-15");
+        submit(first, 2, "2030-01-10", "2030-01-10");
+        assertRefused(first, 3, "2030-01-15", "2030-01-16");
+    }
+
+    @Test
+    void rejectedLeaveFreesItsDates() {
+        submit(first, 1, "2030-01-10", "2030-01-12");
+        save(first, leave(1, "2030-01-10", "2030-01-12", LeaveRequest.LeaveStatus.REJECTED));
+        submit(first, 2, "2030-01-11", "2030-01-11");
+    }
+
+    @Test
+    void rolledBackReservationIsForgotten() {
+        transactionTemplate.executeWithoutResult(status -> {
+            first.reserve(leave(1, "2030-01-10", "2030-01-12", LeaveRequest.LeaveStatus.PENDING));
+            status.setRollbackOnly();
+        });
+        submit(first, 2, "2030-01-10", "2030-01-12");
+    }
+
+    @Test
+    void leaveReservedOnAnotherInstanceIsSeen() {
+        submit(second, 1, "2030-01-01", "2030-01-02");
+        submit(first, 2, "2030-01-10", "2030-01-12");
+        assertRefused(second, 3, "2030-01-11", "2030-01-11");
+    }
+
+    @Test
+    void leaveRejectedOnAnotherInstanceIsConfirmedBeforeRefusing() {
+        submit(first, 1, "2030-01-10", "2030-01-12");
+        submit(second, 2, "2030-01-01", "2030-01-02");
+        save(first, leave(1, "2030-01-10", "2030-01-12", LeaveRequest.LeaveStatus.REJECTED));
+        submit(second, 3, "2030-01-11", "2030-01-11");
+    }
+
+    @Test
+    void importedLeavesAreSeenOnceMarkedChanged() {
+        submit(second, 1, "2030-01-01", "2030-01-02");
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO leave_request (id, employee_id, leave_start_date, leave_end_date, leave_status) " +
+                    "VALUES (2, ?, '2030-01-10', '2030-01-12', 'APPROVED')", EMPLOYEE);
+            first.markChanged(List.of(EMPLOYEE, "E-never-reserved"));
+        });
+        assertRefused(second, 3, "2030-01-11", "2030-01-11");
+    }
+}
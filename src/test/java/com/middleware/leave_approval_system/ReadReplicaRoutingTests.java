@@ -0,0 +1,121 @@
+package com.middleware.leave_approval_system;
+
+import com.middleware.leave_approval_system.Config.ReplicaRoutingDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Routes between two embedded H2 databases, each holding a marker row that names it
+class ReadReplicaRoutingTests {
+
+    private SwitchableDataSource replica;
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:routing-" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS marker (name VARCHAR(32))");
+        jdbc.update("DELETE FROM marker");
+        jdbc.update("INSERT INTO marker (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    @BeforeEach
+    void setUp() {
+        replica = new SwitchableDataSource(database("replica"));
+        routing = new ReplicaRoutingDataSource(database("primary"), Map.of("replica-1", replica));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private String marker() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    // Typed wrapper: TransactionTemplate.execute returns a bare T, which makes assertThat ambiguous
+    private static String inTransaction(TransactionTemplate template, Supplier<String> query) {
+        return template.execute(status -> query.get());
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaAndOthersThePrimary() {
+        assertThat(inTransaction(readOnly, this::marker)).isEqualTo("replica");
+        assertThat(inTransaction(readWrite, this::marker)).isEqualTo("primary");
+        assertThat(marker()).isEqualTo("primary");
+    }
+
+    @Test
+    void onPrimaryOverridesReadOnlyRouting() {
+        assertThat(inTransaction(readOnly, () -> ReplicaRoutingDataSource.onPrimary(this::marker))).isEqualTo("primary");
+        assertThat(inTransaction(readOnly, this::marker)).isEqualTo("replica");
+    }
+
+    @Test
+    void onPrimaryCarriesOverToTasksHandedToADecoratedExecutor() throws Exception {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setTaskDecorator(ReplicaRoutingDataSource::propagateForcePrimary);
+        executor.initialize();
+        try {
+            Future<String> pinned = ReplicaRoutingDataSource.onPrimary(() -> executor.submit(() -> inTransaction(readOnly, this::marker)));
+            Future<String> unpinned = executor.submit(() -> inTransaction(readOnly, this::marker));
+            assertThat(pinned.get(5, TimeUnit.SECONDS)).isEqualTo("primary");
+            assertThat(unpinned.get(5, TimeUnit.SECONDS)).isEqualTo("replica");
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void unavailableReplicaFallsBackToThePrimaryUntilItRecovers() {
+        replica.down = true;
+        assertThat(inTransaction(readOnly, this::marker)).isEqualTo("primary");
+        assertThat(routing.getHealthyReplicaCount()).isZero();
+
+        // Still out of rotation after it comes back, until a health check validates it
+        replica.down = false;
+        assertThat(inTransaction(readOnly, this::marker)).isEqualTo("primary");
+        routing.checkReplicas(1);
+        assertThat(routing.getHealthyReplicaCount()).isEqualTo(1);
+        assertThat(inTransaction(readOnly, this::marker)).isEqualTo("replica");
+    }
+
+    private static final class SwitchableDataSource extends DelegatingDataSource {
+        private volatile boolean down;
+
+        private SwitchableDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (down) {
+                throw new SQLException("replica down");
+            }
+            return super.getConnection();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.middleware.leave_approval_system;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the Flyway migrations against an embedded H2 database in MySQL mode
+class SchemaMigrationTests {
+
+    private static Flyway flyway(String url) {
+        return Flyway.configure()
+                .dataSource(url, "sa", "")
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load();
+    }
+
+    private static String databaseUrl(String name) {
+        return "jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    }
+
+    private static Set<String> indexNames(String url, String table) throws SQLException {
+        Set<String> names = new HashSet<>();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             ResultSet indexes = connection.getMetaData().getIndexInfo(null, null, table, false, false)) {
+            while (indexes.next()) {
+                String name = indexes.getString("INDEX_NAME");
+                if (name != null) {
+                    names.add(name.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return names;
+    }
+
+    @Test
+    void migrationsCreateIndexesForRepositoryAccessPaths() throws SQLException {
+        String url = databaseUrl("fresh");
+        MigrateResult result = flyway(url).migrate();
+
+        assertThat(result.success).isTrue();
+        assertThat(indexNames(url, "leave_request")).contains(
+                "idx_leave_request_employee_type_status",
+                "idx_leave_request_employee_status",
+                "idx_leave_request_employee_dates",
+                "idx_leave_request_manager_status");
+        assertThat(indexNames(url, "email_outbox")).contains("idx_email_outbox_status_next_attempt");
+        assertThat(indexNames(url, "leave_usage_rollup")).contains("idx_leave_usage_rollup_month");
+        assertThat(indexNames(url, "manager_digest_item")).contains("idx_manager_digest_item_manager_created");
+
+        // Running again finds nothing left to apply
+        assertThat(flyway(url).migrate().migrationsExecuted).isZero();
+    }
+
+    @Test
+    void migrationsBaselineADatabaseCreatedByHibernate() throws SQLException {
+        String url = databaseUrl("existing");
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            // Same shape as the table ddl-auto=update created before migrations existed
+            statement.execute("CREATE TABLE leave_request (id BIGINT NOT NULL AUTO_INCREMENT, employee_id VARCHAR(255), " +
+                    "first_name VARCHAR(255), last_name VARCHAR(255), email VARCHAR(255), position VARCHAR(255), phone VARCHAR(255), " +
+                    "manager_id VARCHAR(255), manager_name VARCHAR(255), manager_email VARCHAR(255), leave_start_date DATE, " +
+                    "leave_end_date DATE, leave_reason VARCHAR(255), leave_type VARCHAR(32), duration DOUBLE, " +
+                    "duration_type VARCHAR(255), comments VARCHAR(255), medical_document VARCHAR(255), leave_status VARCHAR(32), " +
+                    "PRIMARY KEY (id))");
+            statement.execute("INSERT INTO leave_request (employee_id) VALUES ('E1')");
+        }
+
+        assertThat(flyway(url).migrate().success).isTrue();
+        assertThat(indexNames(url, "leave_request")).contains("idx_leave_request_manager_status");
+
+        // Table-generated ids continue after the existing AUTO_INCREMENT ids
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement();
+             ResultSet nextId = statement.executeQuery("SELECT next_val FROM id_generator WHERE sequence_name = 'leave_request'")) {
+            assertThat(nextId.next()).isTrue();
+            assertThat(nextId.getLong(1)).isEqualTo(2);
+        }
+    }
+}
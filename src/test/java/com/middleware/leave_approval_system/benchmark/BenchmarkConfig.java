@@ -0,0 +1,86 @@
+package com.middleware.leave_approval_system.benchmark;
+
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.Set;
+
+// Simulated remote dependencies for the benchmark profile: every JDBC statement and commit waits
+// benchmark.db-latency-ms, every mail waits benchmark.mail-latency-ms, like a slow SMTP relay would.
+// @TestConfiguration keeps it out of component scanning in the regular test contexts.
+@TestConfiguration(proxyBeanMethods = false)
+public class BenchmarkConfig {
+
+    private static final Set<Class<?>> WRAPPED_TYPES =
+            Set.of(Connection.class, Statement.class, PreparedStatement.class, CallableStatement.class);
+
+    @Bean
+    public JavaMailSender javaMailSender(Environment environment) {
+        long latencyMs = environment.getProperty("benchmark.mail-latency-ms", Long.class, 200L);
+        return new JavaMailSenderImpl() {
+            @Override
+            protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+                pause(latencyMs * mimeMessages.length);
+            }
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor slowDataSource(Environment environment) {
+        long latencyMs = environment.getProperty("benchmark.db-latency-ms", Long.class, 5L);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? withLatency(DataSource.class, dataSource, latencyMs) : bean;
+            }
+        };
+    }
+
+    // Proxies a JDBC object so statement execution and commits pay the simulated network round trip
+    static <T> T withLatency(Class<T> type, T target, long latencyMs) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("execute") || name.equals("commit")) {
+                pause(latencyMs);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            if (result != null && WRAPPED_TYPES.contains(method.getReturnType())) {
+                return wrap(method.getReturnType(), result, latencyMs);
+            }
+            return result;
+        }));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, Object target, long latencyMs) {
+        return withLatency(type, (T) target, latencyMs);
+    }
+
+    static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.middleware.leave_approval_system.benchmark;
+
+import com.middleware.leave_approval_system.LeaveApprovalSystemApplication;
+import com.middleware.leave_approval_system.loadtest.LatencyStats;
+import com.middleware.leave_approval_system.loadtest.LeaveApiClient;
+import com.middleware.leave_approval_system.loadtest.LoadRunner;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Throughput of /leave/submit and /leave/approve on Tomcat's platform thread pool versus virtual threads.
+// Each mode boots the application on its own in-memory database (benchmark profile, see BenchmarkConfig)
+// and is driven by the same number of concurrent clients, each submitting a leave and then approving it.
+//
+// mvn test-compile exec:java -Dexec.classpathScope=test \
+//     -Dexec.mainClass=com.middleware.leave_approval_system.benchmark.VirtualThreadBenchmark \
+//     -Dbenchmark.clients=400 -Dbenchmark.seconds=30
+public class VirtualThreadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("benchmark.clients", 400);
+        Duration warmup = Duration.ofSeconds(Long.getLong("benchmark.warmup-seconds", 10));
+        Duration measure = Duration.ofSeconds(Long.getLong("benchmark.seconds", 30));
+
+        for (String mode : List.of("platform", "virtual-threads")) {
+            LatencyStats stats = new LatencyStats();
+            Duration measured = run(mode, clients, warmup, measure, stats);
+            System.out.printf("%n%s: %d clients, %.1f s measured%n", mode, clients, measured.toMillis() / 1000.0);
+            stats.print(System.out, measured);
+        }
+    }
+
+    private static Duration run(String mode, int clients, Duration warmup, Duration measure, LatencyStats stats) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(LeaveApprovalSystemApplication.class, BenchmarkConfig.class);
+        // benchmark comes last so its pool size wins over the virtual-threads profile
+        builder.profiles(mode.equals("virtual-threads") ? new String[]{"virtual-threads", "benchmark"} : new String[]{"benchmark"});
+
+        LocalDate start = LocalDate.now().plusDays(30).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        // Command-line arguments, because builder properties are only defaults that the properties files override;
+        // each mode needs its own database so the second does not start on the first one's rows and balances
+        try (ConfigurableApplicationContext context = builder.run("--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:benchmark-" + mode + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+             ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            try (LeaveApiClient api = new LeaveApiClient("http://localhost:" + port + "/leave", httpExecutor, stats)) {
+                // A fresh employee per cycle keeps balances and overlaps out of the way
+                return LoadRunner.run(stats, warmup, measure, List.of(new LoadRunner.Scenario("submit-approve", clients, (client, iteration) -> {
+                    Long id = api.submit(mode + "-" + client + "-" + iteration, "M" + (client % 20), "CASUAL", start, start.plusDays(1));
+                    if (id != null) {
+                        api.approve(id);
+                    }
+                })));
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.middleware.leave_approval_system.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Per-operation latency samples with throughput and percentile reporting.
+// Samples are only kept once recording is switched on, so warmup traffic does not count.
+public class LatencyStats {
+
+    private final Map<String, Samples> operations = new ConcurrentHashMap<>();
+    private volatile boolean recording;
+
+    public void startRecording() {
+        recording = true;
+    }
+
+    public void stopRecording() {
+        recording = false;
+    }
+
+    public void record(String operation, long nanos, boolean ok) {
+        if (recording) {
+            operations.computeIfAbsent(operation, key -> new Samples()).add(nanos, ok);
+        }
+    }
+
+    public long count(String operation) {
+        Samples samples = operations.get(operation);
+        return samples == null ? 0 : samples.size();
+    }
+
+    public double throughput(String operation, Duration measured) {
+        return count(operation) / (measured.toNanos() / 1_000_000_000.0);
+    }
+
+    public double percentileMillis(String operation, double percentile) {
+        Samples samples = operations.get(operation);
+        if (samples == null) {
+            return 0;
+        }
+        long[] sorted = samples.snapshot();
+        Arrays.sort(sorted);
+        return percentile(sorted, percentile) / 1_000_000.0;
+    }
+
+    public void print(PrintStream out, Duration measured) {
+        out.printf("%-18s %9s %10s %9s %9s %9s %9s %8s%n", "operation", "ok", "ops/s", "p50 ms", "p95 ms", "p99 ms", "max ms", "errors");
+        new TreeMap<>(operations).forEach((operation, samples) -> {
+            long[] sorted = samples.snapshot();
+            Arrays.sort(sorted);
+            out.printf("%-18s %9d %10.1f %9.2f %9.2f %9.2f %9.2f %8d%n", operation, sorted.length,
+                    sorted.length / (measured.toNanos() / 1_000_000_000.0),
+                    percentile(sorted, 50) / 1_000_000.0, percentile(sorted, 95) / 1_000_000.0,
+                    percentile(sorted, 99) / 1_000_000.0, percentile(sorted, 100) / 1_000_000.0,
+                    samples.errors());
+        });
+    }
+
+    // Nearest-rank percentile over sorted samples
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    // Successful latencies only; failures are counted separately
+    private static final class Samples {
+        private long[] nanos = new long[1024];
+        private int size;
+        private long errors;
+
+        private synchronized void add(long value, boolean ok) {
+            if (!ok) {
+                errors++;
+                return;
+            }
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+        }
+
+        private synchronized long[] snapshot() {
+            return Arrays.copyOf(nanos, size);
+        }
+
+        private synchronized int size() {
+            return size;
+        }
+
+        private synchronized long errors() {
+            return errors;
+        }
+    }
+}
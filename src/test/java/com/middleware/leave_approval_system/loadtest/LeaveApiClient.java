@@ -0,0 +1,120 @@
+package com.middleware.leave_approval_system.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+// Thin HTTP client for the /leave endpoints used by the load-test and benchmark drivers.
+// Every call is timed into LatencyStats under the given operation name.
+public class LeaveApiClient implements AutoCloseable {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final LatencyStats stats;
+
+    public LeaveApiClient(String baseUrl, Executor executor, LatencyStats stats) {
+        this.http = HttpClient.newBuilder().executor(executor).connectTimeout(Duration.ofSeconds(10)).build();
+        this.baseUrl = baseUrl;
+        this.stats = stats;
+    }
+
+    // Submits a leave and returns its id, or null when the request failed
+    public Long submit(String employeeId, String managerId, String leaveType, LocalDate start, LocalDate end) {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("employeeId", employeeId);
+        form.put("firstName", "Load");
+        form.put("lastName", employeeId);
+        form.put("email", employeeId + "@example.com");
+        form.put("position", "Engineer");
+        form.put("phone", "0000000000");
+        form.put("managerId", managerId);
+        form.put("managerName", "Manager " + managerId);
+        form.put("managerEmail", managerId + "@example.com");
+        form.put("leaveType", leaveType);
+        form.put("leaveStartDate", start.toString());
+        form.put("leaveEndDate", end.toString());
+        String body = form.entrySet().stream()
+                .map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+
+        HttpResponse<String> response = send("submit", HttpRequest.newBuilder(URI.create(baseUrl + "/submit"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body)), 200);
+        if (response == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(response.body()).path("id").asLong();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    public boolean approve(long id) {
+        return send("approve", HttpRequest.newBuilder(URI.create(baseUrl + "/approve/" + id))
+                .PUT(HttpRequest.BodyPublishers.noBody()), 200) != null;
+    }
+
+    public boolean reject(long id, String reason) {
+        return send("reject", HttpRequest.newBuilder(URI.create(baseUrl + "/reject/" + id + "/" + URLEncoder.encode(reason, StandardCharsets.UTF_8)))
+                .PUT(HttpRequest.BodyPublishers.noBody()), 200) != null;
+    }
+
+    // Approves all ids through the bulk decisions endpoint
+    public boolean approveAll(List<Long> ids) {
+        String body = ids.stream()
+                .map(id -> "{\"id\":" + id + ",\"decision\":\"APPROVE\"}")
+                .collect(Collectors.joining(",", "[", "]"));
+        return send("bulk-approve", HttpRequest.newBuilder(URI.create(baseUrl + "/decisions"))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body)), 200) != null;
+    }
+
+    // Dashboard reads; an empty list answers 404, which is still a served request
+    public boolean managerInbox(String managerId, String status) {
+        return send("manager-inbox", HttpRequest.newBuilder(URI.create(baseUrl + "/" + status + "/manager/" + managerId)).GET(), 200, 404) != null;
+    }
+
+    public boolean employeeHistory(String employeeId) {
+        return send("employee-history", HttpRequest.newBuilder(URI.create(baseUrl + "/employee/" + employeeId)).GET(), 200, 404) != null;
+    }
+
+    private HttpResponse<String> send(String operation, HttpRequest.Builder request, int... expectedStatus) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            boolean ok = false;
+            for (int status : expectedStatus) {
+                ok |= response.statusCode() == status;
+            }
+            stats.record(operation, System.nanoTime() - start, ok);
+            return ok ? response : null;
+        } catch (IOException e) {
+            stats.record(operation, System.nanoTime() - start, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    @Override
+    public void close() {
+        http.close();
+    }
+}
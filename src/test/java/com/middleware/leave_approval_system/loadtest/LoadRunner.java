@@ -0,0 +1,52 @@
+package com.middleware.leave_approval_system.loadtest;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Runs closed-loop scenarios: each client is a virtual thread repeating its scenario until the run ends.
+// Latencies are recorded only after the warmup.
+public final class LoadRunner {
+
+    @FunctionalInterface
+    public interface Iteration {
+        void run(int clientId, int iteration);
+    }
+
+    public record Scenario(String name, int clients, Iteration iteration) {
+    }
+
+    private LoadRunner() {
+    }
+
+    // Returns the measured duration, for throughput
+    public static Duration run(LatencyStats stats, Duration warmup, Duration measure, List<Scenario> scenarios) throws InterruptedException {
+        long stopAt = System.nanoTime() + warmup.toNanos() + measure.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Scenario scenario : scenarios) {
+                for (int client = 0; client < scenario.clients(); client++) {
+                    int clientId = client;
+                    clients.submit(() -> {
+                        for (int iteration = 0; System.nanoTime() < stopAt && !Thread.currentThread().isInterrupted(); iteration++) {
+                            scenario.iteration().run(clientId, iteration);
+                        }
+                    });
+                }
+            }
+            clients.shutdown();
+
+            Thread.sleep(warmup.toMillis());
+            stats.startRecording();
+            long measuredFrom = System.nanoTime();
+            Thread.sleep(measure.toMillis());
+            stats.stopRecording();
+            Duration measured = Duration.ofNanos(System.nanoTime() - measuredFrom);
+
+            // Let in-flight requests finish; they are no longer recorded
+            clients.awaitTermination(60, TimeUnit.SECONDS);
+            return measured;
+        }
+    }
+}
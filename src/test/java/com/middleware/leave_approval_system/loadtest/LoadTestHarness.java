@@ -0,0 +1,118 @@
+package com.middleware.leave_approval_system.loadtest;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.middleware.leave_approval_system.LeaveApprovalSystemApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+// End-to-end load test: boots the application on in-memory H2 (loadtest profile) with a GreenMail SMTP server,
+// runs the scenarios below concurrently and prints throughput and latency percentiles per operation.
+//
+//   submit-burst    employees submitting two-day leaves
+//   reject          submit followed by a manager rejection
+//   bulk-approval   a manager collecting loadtest.bulk-size submissions, then approving them in one /decisions call
+//   dashboard-poll  manager inbox and employee history reads
+//
+// mvn test-compile exec:java -Dexec.classpathScope=test \
+//     -Dexec.mainClass=com.middleware.leave_approval_system.loadtest.LoadTestHarness \
+//     -Dloadtest.seconds=60 -Dloadtest.submit-clients=50 -Dloadtest.profiles=virtual-threads
+// Client counts of 0 switch a scenario off.
+public class LoadTestHarness {
+
+    private static final int MANAGERS = 20;
+    private static final long MAIL_WAIT_MILLIS = 10_000;
+
+    public static void main(String[] args) throws Exception {
+        int submitClients = Integer.getInteger("loadtest.submit-clients", 50);
+        int rejectClients = Integer.getInteger("loadtest.reject-clients", 10);
+        int bulkManagers = Integer.getInteger("loadtest.bulk-managers", 5);
+        int bulkSize = Integer.getInteger("loadtest.bulk-size", 20);
+        int pollClients = Integer.getInteger("loadtest.poll-clients", 50);
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+        Duration measure = Duration.ofSeconds(Long.getLong("loadtest.seconds", 30));
+
+        GreenMail greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.start();
+        try (ConfigurableApplicationContext context = start(greenMail.getSmtp().getPort(), args);
+             ExecutorService httpExecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            LatencyStats stats = new LatencyStats();
+            try (LeaveApiClient api = new LeaveApiClient("http://localhost:" + port + "/leave", httpExecutor, stats)) {
+                Duration measured = LoadRunner.run(stats, warmup, measure, scenarios(api, submitClients, rejectClients, bulkManagers, bulkSize, pollClients));
+
+                System.out.printf("%nsubmit=%d reject=%d bulk=%dx%d poll=%d clients, %.1f s measured, profiles %s%n",
+                        submitClients, rejectClients, bulkManagers, bulkSize, pollClients, measured.toMillis() / 1000.0,
+                        String.join(",", context.getEnvironment().getActiveProfiles()));
+                stats.print(System.out, measured);
+
+                // The outbox delivers in the background; give it a moment before checking mail reached the stub
+                if (!greenMail.waitForIncomingEmail(MAIL_WAIT_MILLIS, 1)) {
+                    throw new IllegalStateException("No email reached the SMTP stub on port " + greenMail.getSmtp().getPort()
+                            + "; the run measured failing mail delivery");
+                }
+                System.out.printf("emails received by the SMTP stub: %d%n", greenMail.getReceivedMessages().length);
+            }
+        } finally {
+            greenMail.stop();
+        }
+    }
+
+    // loadtest comes last so it overrides the datasource of any extra profile. The port settings are passed as
+    // command-line arguments: builder properties are only defaults, which application.properties overrides.
+    static ConfigurableApplicationContext start(int smtpPort, String... args) {
+        List<String> profiles = new ArrayList<>();
+        for (String profile : System.getProperty("loadtest.profiles", "").split(",")) {
+            if (!profile.isBlank()) {
+                profiles.add(profile.trim());
+            }
+        }
+        profiles.add("loadtest");
+        return new SpringApplicationBuilder(LeaveApprovalSystemApplication.class)
+                .profiles(profiles.toArray(String[]::new))
+                .run(Stream.concat(Stream.of("--server.port=0", "--spring.mail.port=" + smtpPort), Arrays.stream(args))
+                        .toArray(String[]::new));
+    }
+
+    private static List<LoadRunner.Scenario> scenarios(LeaveApiClient api, int submitClients, int rejectClients,
+                                                       int bulkManagers, int bulkSize, int pollClients) {
+        LocalDate start = LocalDate.now().plusDays(30).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        LocalDate end = start.plusDays(1);
+        return List.of(
+                new LoadRunner.Scenario("submit-burst", submitClients, (client, iteration) ->
+                        api.submit("sb-" + client + "-" + iteration, "M" + (client % MANAGERS), "CASUAL", start, end)),
+                new LoadRunner.Scenario("reject", rejectClients, (client, iteration) -> {
+                    Long id = api.submit("rj-" + client + "-" + iteration, "M" + (client % MANAGERS), "SICK", start, end);
+                    if (id != null) {
+                        api.reject(id, "Team is short staffed");
+                    }
+                }),
+                new LoadRunner.Scenario("bulk-approval", bulkManagers, (client, iteration) -> {
+                    List<Long> ids = new ArrayList<>(bulkSize);
+                    for (int i = 0; i < bulkSize; i++) {
+                        Long id = api.submit("ba-" + client + "-" + iteration + "-" + i, "BM" + client, "VACATION", start, end);
+                        if (id != null) {
+                            ids.add(id);
+                        }
+                    }
+                    if (!ids.isEmpty()) {
+                        api.approveAll(ids);
+                    }
+                }),
+                new LoadRunner.Scenario("dashboard-poll", pollClients, (client, iteration) -> {
+                    api.managerInbox("M" + (iteration % MANAGERS), "pending");
+                    api.employeeHistory("sb-" + client + "-0");
+                }));
+    }
+}